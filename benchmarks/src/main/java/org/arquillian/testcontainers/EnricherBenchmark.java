@@ -0,0 +1,94 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.arquillian.core.api.Instance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ContainerInjectionTestEnricher#enrich(Object)} for test classes of different depth and field count.
+ * <p>
+ * The first test of a class creates every container in a new registry, as happens for the first test method of a test
+ * class. The next test enriches a new instance of the test class from a registry which already has the containers, as
+ * happens for each following test method.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EnricherBenchmark {
+
+    /**
+     * The shape of the test class, see {@link TestClasses}.
+     */
+    @Param({ "shallow", "deep", "wide" })
+    public String shape;
+
+    private ContainerInjectionTestEnricher enricher;
+    private Constructor<?> constructor;
+    private TestcontainerRegistry registry;
+    private TestcontainerRegistry populated;
+
+    @Setup
+    public void setup() throws Exception {
+        final Class<?> testClass;
+        switch (shape) {
+            case "shallow":
+                testClass = TestClasses.Shallow.class;
+                break;
+            case "deep":
+                testClass = TestClasses.Deep.class;
+                break;
+            case "wide":
+                testClass = TestClasses.Wide.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown shape " + shape);
+        }
+        constructor = testClass.getConstructor();
+        enricher = new ContainerInjectionTestEnricher();
+        final Field field = ContainerInjectionTestEnricher.class.getDeclaredField("instances");
+        field.setAccessible(true);
+        field.set(enricher, (Instance<TestcontainerRegistry>) () -> registry);
+
+        populated = new TestcontainerRegistry();
+        registry = populated;
+        enricher.enrich(constructor.newInstance());
+    }
+
+    @Benchmark
+    public Object firstTest() throws Exception {
+        registry = new TestcontainerRegistry();
+        final Object test = constructor.newInstance();
+        enricher.enrich(test);
+        return test;
+    }
+
+    @Benchmark
+    public Object nextTest() throws Exception {
+        registry = populated;
+        final Object test = constructor.newInstance();
+        enricher.enrich(test);
+        return test;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.arquillian.testcontainers.api.ContainerQualifier;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Containers and test classes for the benchmarks. The containers are never started, so no container engine is required.
+ */
+final class FakeContainers {
+
+    private FakeContainers() {
+    }
+
+    static class FakeContainer<SELF extends FakeContainer<SELF>> extends GenericContainer<SELF> {
+        FakeContainer(final String image) {
+            super(DockerImageName.parse("arquillian/" + image));
+        }
+
+        @Override
+        public void start() {
+            throw new UnsupportedOperationException("Benchmark containers cannot be started");
+        }
+    }
+
+    public static class DatabaseContainer extends FakeContainer<DatabaseContainer> {
+        public DatabaseContainer() {
+            super("database");
+        }
+    }
+
+    public static class BrokerContainer extends FakeContainer<BrokerContainer> {
+        public BrokerContainer() {
+            super("broker");
+        }
+    }
+
+    public static class CacheContainer extends FakeContainer<CacheContainer> {
+        public CacheContainer() {
+            super("cache");
+        }
+    }
+
+    public static class MailContainer extends FakeContainer<MailContainer> {
+        public MailContainer() {
+            super("mail");
+        }
+    }
+
+    public static class AppContainer extends FakeContainer<AppContainer> {
+        public AppContainer() {
+            super("app");
+        }
+    }
+
+    public static class FillerContainer extends FakeContainer<FillerContainer> {
+        public FillerContainer() {
+            super("filler");
+        }
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface First {
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Second {
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Third {
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Fourth {
+    }
+}
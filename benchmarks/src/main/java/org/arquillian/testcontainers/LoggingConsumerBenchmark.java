@@ -0,0 +1,92 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.AsyncLoggingConsumer;
+import org.arquillian.testcontainers.api.LogCapture;
+import org.arquillian.testcontainers.api.LoggingConsumer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Measures the throughput of the log consumers on the thread reading the container output. The logger has no handlers,
+ * so the cost of writing the log records is not included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingConsumerBenchmark {
+
+    private static final String LOGGER_NAME = LoggingConsumerBenchmark.class.getName();
+
+    @Param({ "STDOUT", "STDERR" })
+    public OutputFrame.OutputType type;
+
+    /**
+     * The consumer, {@code logging} for the {@link LoggingConsumer}, {@code async} for the {@link AsyncLoggingConsumer}
+     * and {@code capture} for the {@link LogCapture}.
+     */
+    @Param({ "logging", "async", "capture" })
+    public String consumer;
+
+    private Consumer<OutputFrame> target;
+    private OutputFrame frame;
+
+    @Setup
+    public void setup() {
+        Logger.getLogger(LOGGER_NAME).setUseParentHandlers(false);
+        switch (consumer) {
+            case "logging":
+                target = LoggingConsumer.of(LOGGER_NAME);
+                break;
+            case "async":
+                target = AsyncLoggingConsumer.of(LOGGER_NAME);
+                break;
+            case "capture":
+                target = new LogCapture();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown consumer " + consumer);
+        }
+        frame = new OutputFrame(type, ("12:00:00,000 INFO  [org.jboss.as] (Controller Boot Thread) WFLYSRV0025: "
+                + "WildFly Full 30.0.0.Final started in 4321ms - Started 280 of 522 services\n")
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (target instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) target).close();
+            } catch (Exception ignore) {
+            }
+        }
+    }
+
+    @Benchmark
+    public void accept() {
+        target.accept(frame);
+    }
+}
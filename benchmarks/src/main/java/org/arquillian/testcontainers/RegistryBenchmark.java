@@ -0,0 +1,103 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.FakeContainers.DatabaseContainer;
+import org.arquillian.testcontainers.FakeContainers.FillerContainer;
+import org.arquillian.testcontainers.FakeContainers.First;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Measures the {@link TestcontainerRegistry} lookups with registries of different sizes. The registry holds one
+ * qualified database container and enough filler containers to reach the size.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistryBenchmark {
+
+    @Param({ "1", "10", "100", "1000" })
+    public int size;
+
+    @Testcontainer
+    @First
+    private DatabaseContainer database;
+
+    @Testcontainer
+    private FillerContainer filler;
+
+    private TestcontainerRegistry registry;
+    private Class<GenericContainer<?>> databaseType;
+    private Testcontainer testcontainer;
+    private Field databaseField;
+    private List<Annotation> qualifiers;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setup() throws Exception {
+        databaseField = RegistryBenchmark.class.getDeclaredField("database");
+        databaseType = (Class<GenericContainer<?>>) databaseField.getType();
+        testcontainer = databaseField.getAnnotation(Testcontainer.class);
+        qualifiers = List.of(databaseField.getAnnotation(First.class));
+        registry = new TestcontainerRegistry();
+        registry.lookupOrCreate(databaseType, testcontainer, qualifiers, databaseField);
+
+        // Containers of the same type are only created for different qualifiers, so register the fillers directly
+        final Field fillerField = RegistryBenchmark.class.getDeclaredField("filler");
+        final Method register = TestcontainerRegistry.class.getDeclaredMethod("register", TestcontainerDescription.class,
+                List.class);
+        register.setAccessible(true);
+        for (int i = 1; i < size; i++) {
+            register.invoke(registry, new TestcontainerDescription(fillerField.getAnnotation(Testcontainer.class),
+                    new FillerContainer(), fillerField), List.of());
+        }
+    }
+
+    /**
+     * Looks up the only container of a type.
+     */
+    @Benchmark
+    public Object lookupByType() {
+        return registry.lookup(DatabaseContainer.class, List.of());
+    }
+
+    /**
+     * Looks up a container by its qualifier, which checks every container assignable to the type.
+     */
+    @Benchmark
+    public Object lookupByQualifier() {
+        return registry.lookup(GenericContainer.class, qualifiers);
+    }
+
+    /**
+     * Looks up an existing container the way a field is injected.
+     */
+    @Benchmark
+    public Object lookupOrCreate() {
+        return registry.lookupOrCreate(databaseType, testcontainer, qualifiers, databaseField);
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import org.arquillian.testcontainers.FakeContainers.AppContainer;
+import org.arquillian.testcontainers.FakeContainers.BrokerContainer;
+import org.arquillian.testcontainers.FakeContainers.CacheContainer;
+import org.arquillian.testcontainers.FakeContainers.DatabaseContainer;
+import org.arquillian.testcontainers.FakeContainers.First;
+import org.arquillian.testcontainers.FakeContainers.Fourth;
+import org.arquillian.testcontainers.FakeContainers.MailContainer;
+import org.arquillian.testcontainers.FakeContainers.Second;
+import org.arquillian.testcontainers.FakeContainers.Third;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+
+/**
+ * Test classes of different shapes for the {@link EnricherBenchmark}. Each level of a hierarchy declares five
+ * containers, qualified so every field gets its own container.
+ */
+final class TestClasses {
+
+    private TestClasses() {
+    }
+
+    /**
+     * One level with five fields.
+     */
+    @TestcontainersRequired
+    public static class Shallow {
+        @Testcontainer
+        @First
+        DatabaseContainer database1;
+        @Testcontainer
+        @First
+        BrokerContainer broker1;
+        @Testcontainer
+        @First
+        CacheContainer cache1;
+        @Testcontainer
+        @First
+        MailContainer mail1;
+        @Testcontainer(dependsOn = "database1")
+        @First
+        AppContainer app1;
+    }
+
+    public static class Level2 extends Shallow {
+        @Testcontainer
+        @Second
+        DatabaseContainer database2;
+        @Testcontainer
+        @Second
+        BrokerContainer broker2;
+        @Testcontainer
+        @Second
+        CacheContainer cache2;
+        @Testcontainer
+        @Second
+        MailContainer mail2;
+        @Testcontainer(dependsOn = "database2")
+        @Second
+        AppContainer app2;
+    }
+
+    public static class Level3 extends Level2 {
+        @Testcontainer
+        @Third
+        DatabaseContainer database3;
+        @Testcontainer
+        @Third
+        BrokerContainer broker3;
+        @Testcontainer
+        @Third
+        CacheContainer cache3;
+        @Testcontainer
+        @Third
+        MailContainer mail3;
+        @Testcontainer(dependsOn = "database3")
+        @Third
+        AppContainer app3;
+    }
+
+    /**
+     * Four levels with five fields each.
+     */
+    public static class Deep extends Level3 {
+        @Testcontainer
+        @Fourth
+        DatabaseContainer database4;
+        @Testcontainer
+        @Fourth
+        BrokerContainer broker4;
+        @Testcontainer
+        @Fourth
+        CacheContainer cache4;
+        @Testcontainer
+        @Fourth
+        MailContainer mail4;
+        @Testcontainer(dependsOn = "database4")
+        @Fourth
+        AppContainer app4;
+    }
+
+    /**
+     * One level with the same twenty fields as {@link Deep}.
+     */
+    @TestcontainersRequired
+    public static class Wide {
+        @Testcontainer
+        @First
+        DatabaseContainer database1;
+        @Testcontainer
+        @First
+        BrokerContainer broker1;
+        @Testcontainer
+        @First
+        CacheContainer cache1;
+        @Testcontainer
+        @First
+        MailContainer mail1;
+        @Testcontainer(dependsOn = "database1")
+        @First
+        AppContainer app1;
+        @Testcontainer
+        @Second
+        DatabaseContainer database2;
+        @Testcontainer
+        @Second
+        BrokerContainer broker2;
+        @Testcontainer
+        @Second
+        CacheContainer cache2;
+        @Testcontainer
+        @Second
+        MailContainer mail2;
+        @Testcontainer(dependsOn = "database2")
+        @Second
+        AppContainer app2;
+        @Testcontainer
+        @Third
+        DatabaseContainer database3;
+        @Testcontainer
+        @Third
+        BrokerContainer broker3;
+        @Testcontainer
+        @Third
+        CacheContainer cache3;
+        @Testcontainer
+        @Third
+        MailContainer mail3;
+        @Testcontainer(dependsOn = "database3")
+        @Third
+        AppContainer app3;
+        @Testcontainer
+        @Fourth
+        DatabaseContainer database4;
+        @Testcontainer
+        @Fourth
+        BrokerContainer broker4;
+        @Testcontainer
+        @Fourth
+        CacheContainer cache4;
+        @Testcontainer
+        @Fourth
+        MailContainer mail4;
+        @Testcontainer(dependsOn = "database4")
+        @Fourth
+        AppContainer app4;
+    }
+}
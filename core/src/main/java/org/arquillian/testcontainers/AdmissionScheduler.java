@@ -0,0 +1,286 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.AnnotatedElement;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerResources;
+
+/**
+ * Admits container starts against a budget of CPUs and memory for the host. Each start declares its
+ * {@linkplain ContainerResources cost}, and is admitted once the containers starting and running leave enough of the
+ * budget for it. The CPUs are returned to the budget once the {@linkplain #started(Cost) start completes}, as a container
+ * mostly uses CPU while it starts. The memory is held until the {@linkplain #stopped(Cost) container is stopped}. Starts
+ * which do not fit wait in the order they were requested, so a large container is not passed over indefinitely by
+ * smaller ones.
+ * <p>
+ * A start whose cost exceeds the whole budget is admitted once no other container holds any of the budget, rather than
+ * never. As the containers holding the budget may only be stopped once the waiting start completes, for example the other
+ * containers of the same test class, a start which has waited longer than the {@value #TIMEOUT_PROPERTY} system property,
+ * in seconds, is admitted over the budget and a warning is logged.
+ * </p>
+ * <p>
+ * The budget is defined by the {@value #CPUS_PROPERTY} and {@value #MEMORY_PROPERTY} system properties. A budget of
+ * {@code 0} or less is not limited. If neither is set, starts are not scheduled.
+ * </p>
+ */
+class AdmissionScheduler {
+
+    static final String CPUS_PROPERTY = "org.arquillian.testcontainers.admission.cpus";
+    static final String MEMORY_PROPERTY = "org.arquillian.testcontainers.admission.memory";
+    static final String TIMEOUT_PROPERTY = "org.arquillian.testcontainers.admission.timeout";
+
+    private static final Logger LOGGER = Logger.getLogger(AdmissionScheduler.class.getName());
+
+    private static class InstanceHolder {
+        static final AdmissionScheduler INSTANCE = new AdmissionScheduler(
+                Double.parseDouble(System.getProperty(CPUS_PROPERTY, "0")), Long.getLong(MEMORY_PROPERTY, 0L),
+                Duration.ofSeconds(Long.getLong(TIMEOUT_PROPERTY, 120L)));
+    }
+
+    /**
+     * The resources a container uses. The CPUs are held while the container starts, the memory while it runs.
+     */
+    static final class Cost {
+        /**
+         * The cost of a container without a {@link ContainerResources @ContainerResources} annotation
+         */
+        static final Cost DEFAULT = new Cost(1.0, 0L);
+
+        final double cpus;
+        final long memory;
+
+        Cost(final double cpus, final long memory) {
+            if (cpus < 0 || memory < 0L) {
+                throw new IllegalArgumentException(
+                        String.format("The resources must not be negative, but were %s CPUs and %d MB", cpus, memory));
+            }
+            this.cpus = cpus;
+            this.memory = memory;
+        }
+
+        /**
+         * Returns the declared cost of a container.
+         *
+         * @param field the field or parameter the container was created for, or {@code null} if not known
+         * @param type  the type of the container
+         *
+         * @return the cost of the container
+         */
+        static Cost of(final AnnotatedElement field, final Class<?> type) {
+            ContainerResources resources = field == null ? null : field.getAnnotation(ContainerResources.class);
+            if (resources == null) {
+                resources = type.getAnnotation(ContainerResources.class);
+            }
+            return resources == null ? DEFAULT : new Cost(resources.cpus(), resources.memory());
+        }
+
+        @Override
+        public String toString() {
+            return cpus + " CPUs, " + memory + " MB";
+        }
+    }
+
+    private final double cpus;
+    private final long memory;
+    private final long timeoutNanos;
+    private final ReentrantLock lock;
+    private final Condition changed;
+    // The following are guarded by the lock
+    private final Deque<Cost> waiting;
+    private double usedCpus;
+    private long usedMemory;
+    private int starting;
+    private int admitted;
+    private int maxWaiting;
+    private long waitNanos;
+
+    /**
+     * Creates a new scheduler which waits at most two minutes to admit a start.
+     *
+     * @param cpus   the number of CPUs available, {@code 0} or less to not limit CPUs
+     * @param memory the memory in megabytes available, {@code 0} or less to not limit memory
+     */
+    AdmissionScheduler(final double cpus, final long memory) {
+        this(cpus, memory, Duration.ofMinutes(2L));
+    }
+
+    /**
+     * Creates a new scheduler.
+     *
+     * @param cpus    the number of CPUs available, {@code 0} or less to not limit CPUs
+     * @param memory  the memory in megabytes available, {@code 0} or less to not limit memory
+     * @param timeout the time after which a waiting start is admitted over the budget
+     */
+    AdmissionScheduler(final double cpus, final long memory, final Duration timeout) {
+        this.cpus = cpus;
+        this.memory = memory;
+        this.timeoutNanos = timeout.toNanos();
+        this.lock = new ReentrantLock();
+        this.changed = lock.newCondition();
+        this.waiting = new ArrayDeque<>();
+    }
+
+    /**
+     * @return the scheduler for the JVM
+     */
+    static AdmissionScheduler instance() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    /**
+     * @return {@code true} if a budget is set, otherwise starts do not need to be admitted
+     */
+    boolean isEnabled() {
+        return cpus > 0 || memory > 0L;
+    }
+
+    /**
+     * Waits until the start can be admitted. Once admitted, the CPUs must be returned when the
+     * {@linkplain #started(Cost) start completes}, and the memory once the {@linkplain #stopped(Cost) container is
+     * stopped}.
+     *
+     * @param cost the cost of the start
+     *
+     * @return the time spent waiting to be admitted
+     *
+     * @throws InterruptedException if interrupted while waiting, in which case the start was not admitted
+     */
+    Duration admit(final Cost cost) throws InterruptedException {
+        final long start = System.nanoTime();
+        lock.lock();
+        try {
+            // A distinct instance per request, so waiting requests with the same cost can be told apart
+            final Cost ticket = new Cost(cost.cpus, cost.memory);
+            waiting.addLast(ticket);
+            boolean overdue = false;
+            try {
+                if (!isAdmissible(ticket, false)) {
+                    maxWaiting = Math.max(maxWaiting, waiting.size());
+                    do {
+                        final long remaining = timeoutNanos - (System.nanoTime() - start);
+                        if (remaining <= 0L) {
+                            overdue = true;
+                            if (waiting.peekFirst() != ticket) {
+                                // Overdue as well, so the requests before it are admitted without waiting for the budget
+                                changed.await();
+                            }
+                        } else {
+                            changed.awaitNanos(remaining);
+                        }
+                    } while (!isAdmissible(ticket, overdue));
+                }
+            } catch (InterruptedException e) {
+                waiting.remove(ticket);
+                changed.signalAll();
+                throw e;
+            }
+            if (overdue && !fits(ticket)) {
+                LOGGER.warning(String.format("Waited %d seconds to start a container using %s, starting it over the budget.",
+                        TimeUnit.NANOSECONDS.toSeconds(timeoutNanos), cost));
+            }
+            waiting.removeFirst();
+            usedCpus += cost.cpus;
+            usedMemory += cost.memory;
+            starting++;
+            admitted++;
+            final long waited = System.nanoTime() - start;
+            waitNanos += waited;
+            // The next request may also fit
+            changed.signalAll();
+            return Duration.ofNanos(waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the CPUs of an admitted start to the budget once the start completes, whether or not it succeeded.
+     *
+     * @param cost the cost the start was admitted with
+     */
+    void started(final Cost cost) {
+        lock.lock();
+        try {
+            starting--;
+            // Avoid rounding errors building up once nothing is starting
+            usedCpus = starting == 0 ? 0 : usedCpus - cost.cpus;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the memory of a container to the budget once it is stopped, or once its start failed.
+     *
+     * @param cost the cost the start was admitted with
+     */
+    void stopped(final Cost cost) {
+        lock.lock();
+        try {
+            admitted--;
+            usedMemory -= cost.memory;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of starts waiting to be admitted
+     */
+    int waiting() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the largest number of starts which have had to wait at the same time
+     */
+    int maxWaiting() {
+        lock.lock();
+        try {
+            return maxWaiting;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return the total time starts have spent waiting to be admitted
+     */
+    Duration waited() {
+        lock.lock();
+        try {
+            return Duration.ofNanos(waitNanos);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isAdmissible(final Cost ticket, final boolean overdue) {
+        return waiting.peekFirst() == ticket && (overdue || fits(ticket));
+    }
+
+    private boolean fits(final Cost cost) {
+        if (admitted == 0) {
+            return true;
+        }
+        return (cpus <= 0 || usedCpus + cost.cpus <= cpus) && (memory <= 0L || usedMemory + cost.memory <= memory);
+    }
+}
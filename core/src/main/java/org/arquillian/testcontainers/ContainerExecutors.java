@@ -0,0 +1,81 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the executors used to manage the lifecycle of containers off of the test thread.
+ * <p>
+ * On Java 21 or higher the executors use virtual threads. On older versions daemon platform threads are used.
+ * </p>
+ */
+final class ContainerExecutors {
+
+    private ContainerExecutors() {
+    }
+
+    /**
+     * Returns the maximum number of threads to use for an executor. As managing a container is mostly spent waiting on
+     * the container engine, this defaults to the number of available processors with a minimum of four.
+     *
+     * @param property the system property which can override the default
+     *
+     * @return the maximum number of threads
+     */
+    static int threads(final String property) {
+        return Integer.getInteger(property, Math.max(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Creates a bounded executor. Idle threads are released after a short timeout so an unused executor does not hold
+     * any threads.
+     *
+     * @param name    the prefix for the thread names
+     * @param threads the maximum number of threads to run at once
+     *
+     * @return a new executor
+     */
+    static ExecutorService newBoundedExecutor(final String name, final int threads) {
+        final int max = Math.max(1, threads);
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(max, max, 30L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory(name));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Creates a thread factory which creates virtual threads if supported, otherwise daemon threads.
+     *
+     * @param name the prefix for the thread names
+     *
+     * @return the thread factory
+     */
+    static ThreadFactory threadFactory(final String name) {
+        if (Runtime.version().feature() >= 21) {
+            try {
+                // This library is compiled for Java 11 so the virtual thread API must be looked up reflectively
+                final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+                Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+                builder = builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 1L);
+                return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            } catch (ReflectiveOperationException | RuntimeException ignore) {
+                // Fall through to platform threads
+            }
+        }
+        final AtomicInteger count = new AtomicInteger();
+        return task -> {
+            final Thread thread = new Thread(task, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Computes a stable fingerprint of the configuration of a container which has not yet been started. Two containers with
+ * the same type, image, environment, ports, command and other settings have the same fingerprint, including across JVM
+ * runs. Computing the fingerprint {@linkplain #imageName(GenericContainer) resolves} the image of the container, unless
+ * it is computed from the {@linkplain #ofRequested(GenericContainer) requested} image name.
+ */
+final class ContainerFingerprint {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final Pattern GENERATED_ALIAS = Pattern.compile("tc-[1-9A-HJ-NP-Za-km-z]{8}");
+    private static final Logger LOGGER = Logger.getLogger(ContainerFingerprint.class.getName());
+    private static final Field IMAGE_NAME_FIELD = imageNameField();
+
+    private ContainerFingerprint() {
+    }
+
+    /**
+     * Creates the fingerprint for the container.
+     *
+     * @param container the container to create the fingerprint for
+     *
+     * @return a hex encoded SHA-256 hash of the containers configuration
+     */
+    static String of(final GenericContainer<?> container) {
+        return hash(describe(container));
+    }
+
+    /**
+     * Creates the fingerprint for the container from the {@linkplain #requestedImageName(GenericContainer) requested}
+     * image name, so the image is neither substituted nor pulled. Containers with the same requested image and
+     * configuration have the same fingerprint, but the fingerprint differs from the one {@linkplain #of(GenericContainer)
+     * created} from the resolved image name.
+     *
+     * @param container the container to create the fingerprint for
+     *
+     * @return a hex encoded SHA-256 hash of the containers configuration, or {@code null} if the requested image name is
+     *             not known
+     */
+    static String ofRequested(final GenericContainer<?> container) {
+        final String imageName = requestedImageName(container);
+        return imageName == null ? null : hash(describe(container, imageName));
+    }
+
+    /**
+     * Describes the configuration of the container in a form which does not change between JVM runs.
+     *
+     * @param container the container to describe
+     *
+     * @return the description of the container
+     */
+    static String describe(final GenericContainer<?> container) {
+        return describe(container, imageName(container));
+    }
+
+    private static String describe(final GenericContainer<?> container, final String imageName) {
+        return new StringBuilder()
+                .append("type=").append(container.getClass().getName()).append('\n')
+                .append("image=").append(imageName).append('\n')
+                .append("env=").append(sorted(container.getEnvMap())).append('\n')
+                .append("ports=").append(container.getExposedPorts()).append('\n')
+                .append("portBindings=").append(container.getPortBindings()).append('\n')
+                .append("command=").append(Arrays.toString(container.getCommandParts())).append('\n')
+                .append("labels=").append(sorted(container.getLabels())).append('\n')
+                .append("networkMode=").append(container.getNetworkMode()).append('\n')
+                .append("networkAliases=").append(networkAliases(container)).append('\n')
+                .append("binds=").append(container.getBinds()).append('\n')
+                .append("tmpfs=").append(sorted(container.getTmpFsMapping())).append('\n')
+                .append("workingDirectory=").append(container.getWorkingDirectory()).append('\n')
+                .append("privileged=").append(container.isPrivilegedMode()).append('\n')
+                .append("shmSize=").append(container.getShmSize()).append('\n')
+                .toString();
+    }
+
+    /**
+     * Returns the name of the image of the container, resolving the image if it has not yet been resolved. Resolving
+     * the image applies any {@linkplain org.testcontainers.utility.ImageNameSubstitutor substitution} and pulls the
+     * image if it is not available, as starting the container would. The container keeps the resolved image, so it is
+     * not resolved again when the container is started.
+     *
+     * @param container the container to get the image name for
+     *
+     * @return the image name
+     *
+     * @throws org.testcontainers.containers.ContainerFetchException if the image could not be resolved
+     */
+    static String imageName(final GenericContainer<?> container) {
+        return container.getDockerImageName();
+    }
+
+    /**
+     * Returns the name of the image of the container, only if the image has already been resolved.
+     *
+     * @param container the container to get the image name for
+     *
+     * @return the image name or {@code null} if the image has not been resolved
+     */
+    static String resolvedImageName(final GenericContainer<?> container) {
+        final Future<String> image = container.getImage();
+        return image != null && image.isDone() ? container.getDockerImageName() : null;
+    }
+
+    /**
+     * Returns the name of the image the container was created with, before any
+     * {@linkplain org.testcontainers.utility.ImageNameSubstitutor substitution}. The image is not resolved.
+     *
+     * @param container the container to get the image name for
+     *
+     * @return the image name or {@code null} if the image is not a remote image or its name is not yet known
+     */
+    static String requestedImageName(final GenericContainer<?> container) {
+        final Future<String> image = container.getImage();
+        if (IMAGE_NAME_FIELD == null || !(image instanceof RemoteDockerImage)) {
+            return null;
+        }
+        try {
+            final Future<?> imageName = (Future<?>) IMAGE_NAME_FIELD.get(image);
+            return imageName != null && imageName.isDone() ? ((DockerImageName) imageName.get()).asCanonicalNameString()
+                    : null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IllegalAccessException | ExecutionException | RuntimeException e) {
+            LOGGER.log(Level.FINE, String.format("Could not get the requested image name of container %s", container), e);
+            return null;
+        }
+    }
+
+    static String hash(final String value) {
+        try {
+            return hex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported", e);
+        }
+    }
+
+    static String hex(final byte[] digest) {
+        final char[] result = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            result[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            result[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(result);
+    }
+
+    private static Field imageNameField() {
+        try {
+            final Field field = RemoteDockerImage.class.getDeclaredField("imageNameFuture");
+            if (field.getType() != Future.class) {
+                return null;
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot access the requested image name of containers, images will be resolved", e);
+            return null;
+        }
+    }
+
+    private static List<String> networkAliases(final GenericContainer<?> container) {
+        // Each container is given a random alias which must be ignored for the fingerprint to be stable
+        return container.getNetworkAliases()
+                .stream()
+                .filter(alias -> !GENERATED_ALIAS.matcher(alias).matches())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static Map<String, String> sorted(final Map<String, String> map) {
+        return map == null ? null : new TreeMap<>(map);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.test.spi.TestEnricher;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * A test enricher for injecting a {@link GenericContainer} into fields and method parameters annotated with
+ * {@link Testcontainer @Testcontainer}.
+ *
+ * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
+ */
+public class ContainerInjectionTestEnricher implements TestEnricher {
+    @Inject
+    private Instance<TestcontainerRegistry> instances;
+
+    @Inject
+    private Instance<TestClass> testClass;
+
+    private final ContainerStarter starter = new ContainerStarter();
+
+    @Override
+    public void enrich(final Object testCase) {
+        final InjectionPlan plan = InjectionPlan.of(testCase.getClass());
+        if (!plan.required) {
+            return;
+        }
+        inject(instances.get(), plan, testCase);
+    }
+
+    /**
+     * Injects the static fields of the test class which do not depend on an instance field. This happens once, before
+     * an instance of the test class exists. Later enrichments skip these fields.
+     *
+     * @param registry  the registry for the test class
+     * @param testClass the test class
+     *
+     * @return {@code true} if any fields were injected
+     */
+    static boolean injectStatic(final TestcontainerRegistry registry, final Class<?> testClass) {
+        final InjectionPlan plan = InjectionPlan.of(testClass);
+        if (!plan.required || !plan.hasEager) {
+            return false;
+        }
+        inject(registry, plan, null);
+        return true;
+    }
+
+    /**
+     * Resolves the method parameters annotated with {@link Testcontainer @Testcontainer}. The containers are created
+     * and started when the method is invoked, rather than for the whole test class. Only the containers of the parameters,
+     * and the containers they depend on, are started. Like field containers, they are stopped after the test class. A
+     * parameter may {@linkplain Testcontainer#dependsOn() depend} on the containers injected into fields of the test class
+     * being run, which may be a subclass of the type declaring the method.
+     *
+     * @param method the method to resolve the parameters for
+     *
+     * @return the resolved values, {@code null} for parameters which are not containers
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object[] resolve(final Method method) {
+        final Object[] values = new Object[method.getParameterTypes().length];
+        final TestcontainerRegistry registry = instances.get();
+        final InjectionPlan plan = InjectionPlan.of(testClass(method));
+        if (registry == null || !plan.required) {
+            return values;
+        }
+        final Parameter[] parameters = method.getParameters();
+        final List<GenericContainer<?>> resolved = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            final Parameter parameter = parameters[i];
+            final Testcontainer testcontainer = parameter.getAnnotation(Testcontainer.class);
+            if (testcontainer == null) {
+                continue;
+            }
+            final GenericContainer<?> value;
+            try {
+                final RuntimeException error = InjectionPlan.checkType(parameter, parameter.getType(), testcontainer);
+                if (error != null) {
+                    throw error;
+                }
+                final List<Annotation> qualifiers = Stream.of(parameter.getAnnotations())
+                        .filter(InjectionPlan::isQualifier)
+                        .collect(Collectors.toList());
+                value = registry.lookupOrCreate((Class<GenericContainer<?>>) parameter.getType(), testcontainer,
+                        qualifiers, parameter);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not lookup value for parameter " + parameter + " of " + method, e);
+            }
+            addDependencies(registry, plan, parameter, testcontainer, value);
+            values[i] = InjectionPlan.isLazy(testcontainer) ? LazyContainer.proxy(parameter.getType(),
+                    registry.describe(value)) : value;
+            resolved.add(value);
+        }
+        if (!resolved.isEmpty()) {
+            starter.start(registry.startOrder(resolved));
+        }
+        return values;
+    }
+
+    private Class<?> testClass(final Method method) {
+        final TestClass current = testClass.get();
+        // The method may be inherited, so the fields are those of the test class being run
+        if (current != null && method.getDeclaringClass().isAssignableFrom(current.getJavaClass())) {
+            return current.getJavaClass();
+        }
+        return method.getDeclaringClass();
+    }
+
+    private static void inject(final TestcontainerRegistry registry, final InjectionPlan plan, final Object testCase) {
+        final List<InjectionPlan.InjectionPoint> points = plan.points;
+        final GenericContainer<?>[] injected = registry.injected(plan);
+        for (int i = 0; i < points.size(); i++) {
+            final InjectionPlan.InjectionPoint point = points.get(i);
+            if (testCase == null ? !point.eager : point.eager && injected[i] != null) {
+                continue;
+            }
+            GenericContainer<?> value;
+            try {
+                point.validate();
+                value = registry.lookupOrCreate(point.type(), point.testcontainer, point.qualifiers, point.field);
+            } catch (Exception e) {
+                throw new RuntimeException("Could not lookup value for field " + point.field, e);
+            }
+            try {
+                point.set(testCase, InjectionPlan.isLazy(point.testcontainer) ? LazyContainer.proxy(point.field.getType(),
+                        registry.describe(value)) : value);
+            } catch (Throwable e) {
+                throw new RuntimeException("Could not set value on field " + point.field + " using " + value, e);
+            }
+            injected[i] = value;
+        }
+        if (plan.dependencyError != null) {
+            throw plan.dependencyError;
+        }
+        if (plan.hasDependencies) {
+            addDependencies(registry, points, injected);
+        }
+    }
+
+    private static void addDependencies(final TestcontainerRegistry registry, final InjectionPlan plan,
+            final Parameter parameter, final Testcontainer testcontainer, final GenericContainer<?> value) {
+        final GenericContainer<?>[] injected = registry.injected(plan);
+        for (String dependsOn : testcontainer.dependsOn()) {
+            boolean found = false;
+            for (int i = 0; i < plan.points.size(); i++) {
+                if (injected[i] != null && InjectionPlan.isDependency(plan.points.get(i).field, dependsOn)) {
+                    registry.addDependency(value, injected[i]);
+                    found = true;
+                }
+            }
+            if (!found) {
+                throw new IllegalArgumentException(
+                        String.format("Parameter %s depends on %s which is not a field or qualifier of a container.",
+                                parameter, dependsOn));
+            }
+        }
+    }
+
+    private static void addDependencies(final TestcontainerRegistry registry, final List<InjectionPlan.InjectionPoint> points,
+            final GenericContainer<?>[] injected) {
+        for (int i = 0; i < points.size(); i++) {
+            if (injected[i] == null) {
+                continue;
+            }
+            for (int dependency : points.get(i).dependencies) {
+                if (injected[dependency] != null) {
+                    registry.addDependency(injected[i], injected[dependency]);
+                }
+            }
+        }
+        // Validate the dependencies now rather than when the containers are started
+        registry.startOrder();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.FileLogConsumer;
+import org.arquillian.testcontainers.api.LogCapture;
+import org.arquillian.testcontainers.api.LogFile;
+import org.arquillian.testcontainers.api.WaitForLog;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Handles the output of containers. The output is written to the directory defined by the {@value #DIR_PROPERTY} system
+ * property.
+ * <p>
+ * The output {@linkplain LogCapture captured} for the containers of a failed test class is written to a file named after
+ * the test class and the field in that directory. If the property is not set, the output is logged as a warning instead.
+ * Once a test class is complete, the captured output is cleared, so containers which outlive the test class only capture
+ * the output of the next test class.
+ * </p>
+ * <p>
+ * The output of containers created for a field annotated with {@link LogFile @LogFile} is written by a
+ * {@link FileLogConsumer}. If the property is not set, the files are written to {@value #DEFAULT_DIR}.
+ * </p>
+ * <p>
+ * A container created for a field annotated with {@link WaitForLog @WaitForLog} is started once its output contains the
+ * text, see the {@link LogPatternWaitStrategy}.
+ * </p>
+ */
+class ContainerLogs {
+
+    static final String DIR_PROPERTY = "org.arquillian.testcontainers.logs.dir";
+    static final String DEFAULT_DIR = "target/container-logs";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerLogs.class.getName());
+
+    /**
+     * Writes the captured output of the containers.
+     *
+     * @param testClass    the name of the failed test class
+     * @param descriptions the containers of the test class
+     */
+    static void writeCaptured(final String testClass, final Iterable<TestcontainerDescription> descriptions) {
+        final String dir = System.getProperty(DIR_PROPERTY);
+        for (TestcontainerDescription description : descriptions) {
+            for (Consumer<OutputFrame> consumer : description.instance.getLogConsumers()) {
+                if (consumer instanceof LogCapture) {
+                    final LogCapture capture = (LogCapture) consumer;
+                    if (dir == null || dir.isBlank()) {
+                        LOGGER.warning(String.format("Output of container %s for failed test %s:%n%s", description.name(),
+                                testClass, capture));
+                    } else {
+                        write(Paths.get(dir, testClass + "-" + description.name() + ".log"), capture);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Configures the output of a newly created container based on the annotations on the field or parameter it was created
+     * for. A {@link FileLogConsumer} is added for {@link LogFile @LogFile}, and the wait strategy is replaced for
+     * {@link WaitForLog @WaitForLog}. Must be invoked before the container is started.
+     *
+     * @param description the description of the newly created container
+     */
+    static void configure(final TestcontainerDescription description) {
+        final LogFile logFile = description.field.getAnnotation(LogFile.class);
+        if (logFile != null) {
+            final String dir = System.getProperty(DIR_PROPERTY);
+            final String name = logFile.value().isBlank()
+                    ? declaringClass(description.field).getName() + "." + description.name() + ".log"
+                    : logFile.value();
+            final Path file = Paths.get(dir == null || dir.isBlank() ? DEFAULT_DIR : dir, name);
+            description.instance.withLogConsumer(new FileLogConsumer(file, logFile.maxSize(), logFile.maxFiles(),
+                    logFile.gzip()));
+        }
+        final WaitForLog waitForLog = description.field.getAnnotation(WaitForLog.class);
+        if (waitForLog != null) {
+            final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of(waitForLog.value()));
+            strategy.withStartupTimeout(Duration.ofSeconds(waitForLog.timeout()));
+            description.instance.withLogConsumer(strategy);
+            description.instance.waitingFor(strategy);
+        }
+    }
+
+    private static Class<?> declaringClass(final AnnotatedElement element) {
+        if (element instanceof Field) {
+            return ((Field) element).getDeclaringClass();
+        }
+        return ((Parameter) element).getDeclaringExecutable().getDeclaringClass();
+    }
+
+    /**
+     * Discards the captured output of the containers.
+     *
+     * @param descriptions the containers to discard the output of
+     */
+    static void clearCaptured(final Iterable<TestcontainerDescription> descriptions) {
+        for (TestcontainerDescription description : descriptions) {
+            for (Consumer<OutputFrame> consumer : description.instance.getLogConsumers()) {
+                if (consumer instanceof LogCapture) {
+                    ((LogCapture) consumer).clear();
+                }
+            }
+        }
+    }
+
+    private static void write(final Path file, final LogCapture capture) {
+        try {
+            Files.createDirectories(file.getParent());
+            try (OutputStream out = Files.newOutputStream(file)) {
+                capture.writeTo(out);
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to write container output to %s", file), e);
+        }
+    }
+}
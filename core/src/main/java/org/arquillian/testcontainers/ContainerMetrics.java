@@ -0,0 +1,108 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerLifecycleListener;
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.arquillian.testcontainers.api.ContainerTiming.Phase;
+
+/**
+ * Passes the timings of the container lifecycle phases to the registered {@link ContainerLifecycleListener listeners}. A
+ * failure in a listener is logged and does not fail the test.
+ */
+class ContainerMetrics {
+
+    /**
+     * Metrics with no listeners, which records nothing
+     */
+    static final ContainerMetrics NONE = new ContainerMetrics(List.of());
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerMetrics.class.getName());
+
+    private final List<ContainerLifecycleListener> listeners;
+
+    ContainerMetrics(final Collection<ContainerLifecycleListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Records the timing of a phase for a container.
+     *
+     * @param testClass   the name of the test class, or {@code null} if the phase was not part of a test class
+     * @param description the description of the container
+     * @param phase       the phase of the lifecycle
+     * @param duration    the time the phase took
+     * @param failed      {@code true} if the phase failed
+     */
+    void record(final String testClass, final TestcontainerDescription description, final Phase phase,
+            final Duration duration, final boolean failed) {
+        if (!listeners.isEmpty()) {
+            record(new ContainerTiming(testClass, description.name(),
+                    ContainerFingerprint.resolvedImageName(description.instance),
+                    phase, duration, failed));
+        }
+    }
+
+    /**
+     * Records the timing of a phase.
+     *
+     * @param timing the timing
+     */
+    void record(final ContainerTiming timing) {
+        for (ContainerLifecycleListener listener : listeners) {
+            try {
+                listener.completed(timing);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format("Listener %s failed to record %s", listener, timing), e);
+            }
+        }
+    }
+
+    /**
+     * Records the creation, queue and start timings of the containers of a test class which have not yet been recorded.
+     *
+     * @param testClass the name of the test class
+     * @param registry  the registry of the test class
+     */
+    void recordStarts(final String testClass, final Iterable<TestcontainerDescription> registry) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        for (TestcontainerDescription description : registry) {
+            final Duration created = description.created;
+            if (created != null) {
+                description.created = null;
+                record(testClass, description, Phase.CREATE, created, false);
+            }
+            if (description.startup.markReported()) {
+                final Duration queued = description.startup.queued();
+                if (queued != null) {
+                    record(testClass, description, Phase.QUEUE, queued, false);
+                }
+                record(testClass, description, Phase.START, description.startup.duration(), description.startup.isFailed());
+            }
+        }
+    }
+
+    /**
+     * Notifies the listeners the suite is complete.
+     */
+    void suiteCompleted() {
+        for (ContainerLifecycleListener listener : listeners) {
+            try {
+                listener.suiteCompleted();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format("Listener %s failed to complete", listener), e);
+            }
+        }
+    }
+}
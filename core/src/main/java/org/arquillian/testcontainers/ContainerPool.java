@@ -0,0 +1,262 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerReset;
+import org.arquillian.testcontainers.api.ContainerScope;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * A pool of the containers which outlive a single test class. Containers are keyed by their scope, qualifiers and
+ * {@linkplain ContainerFingerprint configuration fingerprint}, which includes the type of the container. The fingerprint
+ * is created from the {@linkplain ContainerFingerprint#ofRequested(GenericContainer) requested} image name when it is
+ * known, so creating a key does not pull the image.
+ * <p>
+ * {@linkplain ContainerScope#SUITE Suite} scoped containers are shared by every test class at once.
+ * {@linkplain ContainerScope#POOLED Pooled} containers are leased to a single test class, then reset and returned to the
+ * pool once the test class is complete.
+ * </p>
+ * <p>
+ * Containers of any scope may be pre-warmed, meaning started in the background before a test class needs them. The first
+ * test class which needs a matching container claims the pre-warmed container.
+ * </p>
+ */
+class ContainerPool {
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerPool.class.getName());
+
+    private final Map<String, TestcontainerDescription> shared;
+    private final Map<String, Queue<TestcontainerDescription>> idle;
+    private final Map<String, TestcontainerDescription> warm;
+
+    ContainerPool() {
+        shared = new ConcurrentHashMap<>();
+        idle = new ConcurrentHashMap<>();
+        warm = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates the key for the container in the pool.
+     *
+     * @param created       the newly created, not yet started, container
+     * @param testcontainer the annotation for the field
+     * @param qualifiers    any qualifying annotations
+     *
+     * @return the key for the container
+     */
+    String key(final GenericContainer<?> created, final Testcontainer testcontainer, final List<Annotation> qualifiers) {
+        final String fingerprint = ContainerFingerprint.ofRequested(created);
+        return testcontainer.scope() + qualifiers.toString()
+                + (fingerprint == null ? ContainerFingerprint.of(created) : fingerprint);
+    }
+
+    /**
+     * Returns the shared container for the key. If there is no shared container, a pre-warmed container or the
+     * container passed in becomes the shared container.
+     *
+     * @param key           the key for the container
+     * @param created       the newly created, not yet started, container
+     * @param testcontainer the annotation for the field
+     * @param field         the field the container is being injected into
+     *
+     * @return the description of the shared container
+     */
+    TestcontainerDescription share(final String key, final GenericContainer<?> created, final Testcontainer testcontainer,
+            final AnnotatedElement field) {
+        return shared.computeIfAbsent(key, k -> {
+            final TestcontainerDescription prewarmed = claim(k);
+            return prewarmed == null ? new TestcontainerDescription(testcontainer, created, field, key,
+                    new ContainerStartup(created, field)) : prewarmed;
+        });
+    }
+
+    /**
+     * Leases an idle container for the key. If there is no idle container, a pre-warmed container or the container
+     * passed in is leased.
+     *
+     * @param key           the key for the container
+     * @param created       the newly created, not yet started, container
+     * @param testcontainer the annotation for the field
+     * @param field         the field the container is being injected into
+     *
+     * @return the description of the leased container
+     *
+     * @throws IllegalArgumentException if the {@linkplain Testcontainer#reset() reset} is declared for a different type of
+     *                                      container
+     */
+    TestcontainerDescription lease(final String key, final GenericContainer<?> created, final Testcontainer testcontainer,
+            final AnnotatedElement field) {
+        final Class<?> resets = resetType(testcontainer.reset());
+        if (!resets.isInstance(created)) {
+            throw new IllegalArgumentException(String.format(
+                    "Reset %s of field %s resets a %s, but the container is a %s.", testcontainer.reset().getName(), field,
+                    resets.getName(), created.getClass().getName()));
+        }
+        final Queue<TestcontainerDescription> available = idle.get(key);
+        TestcontainerDescription description = available == null ? null : available.poll();
+        if (description == null) {
+            description = claim(key);
+        }
+        return description == null ? new TestcontainerDescription(testcontainer, created, field, key,
+                new ContainerStartup(created, field)) : description;
+    }
+
+    /**
+     * Starts a container in the background before a test class needs it. Only one container is pre-warmed for each key.
+     *
+     * @param key         the key for the container
+     * @param description the description of the container to start
+     * @param executor    the executor to start the container on
+     *
+     * @return {@code true} if the container is being pre-warmed, {@code false} if there was already a container for the
+     *             key
+     */
+    boolean prewarm(final String key, final TestcontainerDescription description, final Executor executor) {
+        if (warm.putIfAbsent(key, description) == null) {
+            description.startup.startAsync(executor);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Claims the pre-warmed container for the key. Once claimed, the container is owned by the caller.
+     *
+     * @param key the key for the container
+     *
+     * @return the pre-warmed container or {@code null} if there is none
+     */
+    TestcontainerDescription claim(final String key) {
+        return warm.isEmpty() ? null : warm.remove(key);
+    }
+
+    /**
+     * @return {@code true} if there are pre-warmed containers which have not been claimed
+     */
+    boolean hasPrewarmed() {
+        return !warm.isEmpty();
+    }
+
+    /**
+     * Resets a leased container and returns it to the pool. Any output captured while resetting the container is discarded.
+     * If the reset or health check fails, the container is stopped instead.
+     *
+     * @param description the description of the leased container
+     */
+    void release(final TestcontainerDescription description) {
+        if (reset(description)) {
+            ContainerLogs.clearCaptured(List.of(description));
+            idle.computeIfAbsent(description.poolKey, k -> new ConcurrentLinkedQueue<>()).add(description);
+        } else {
+            try {
+                description.instance.stop();
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format("Failed to stop container for field %s", description.field), e);
+            } finally {
+                description.startup.stopped();
+            }
+        }
+    }
+
+    /**
+     * Removes all the shared, idle and unclaimed pre-warmed containers from the pool.
+     *
+     * @return the containers which were in the pool
+     */
+    List<TestcontainerDescription> drain() {
+        final List<TestcontainerDescription> result = new ArrayList<>(shared.values());
+        shared.values().removeAll(result);
+        final List<TestcontainerDescription> unclaimed = new ArrayList<>(warm.values());
+        warm.values().removeAll(unclaimed);
+        result.addAll(unclaimed);
+        for (Queue<TestcontainerDescription> available : idle.values()) {
+            TestcontainerDescription description;
+            while ((description = available.poll()) != null) {
+                result.add(description);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resolves the type of container the reset is declared for.
+     *
+     * @param type the type of the reset
+     *
+     * @return the type of container the reset accepts
+     */
+    static Class<?> resetType(final Type type) {
+        final Class<?> raw = erasure(type);
+        if (raw == ContainerReset.class) {
+            return type instanceof ParameterizedType
+                    ? erasure(((ParameterizedType) type).getActualTypeArguments()[0])
+                    : GenericContainer.class;
+        }
+        final Type superclass = raw.getGenericSuperclass();
+        if (superclass != null && ContainerReset.class.isAssignableFrom(erasure(superclass))) {
+            return resetType(superclass);
+        }
+        for (Type implemented : raw.getGenericInterfaces()) {
+            if (ContainerReset.class.isAssignableFrom(erasure(implemented))) {
+                return resetType(implemented);
+            }
+        }
+        return GenericContainer.class;
+    }
+
+    private static Class<?> erasure(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return erasure(((ParameterizedType) type).getRawType());
+        }
+        if (type instanceof TypeVariable) {
+            return erasure(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return GenericContainer.class;
+    }
+
+    private static boolean reset(final TestcontainerDescription description) {
+        final Class<?> type = description.testcontainer.reset();
+        try {
+            if (type == ContainerReset.class) {
+                return description.instance.isRunning();
+            }
+            // The type of container was checked when the container was leased
+            @SuppressWarnings("unchecked")
+            final ContainerReset<GenericContainer<?>> reset = (ContainerReset<GenericContainer<?>>) type.getConstructor()
+                    .newInstance();
+            reset.reset(description.instance);
+            if (reset.isHealthy(description.instance)) {
+                return true;
+            }
+            LOGGER.warning(String.format("Container for field %s is not healthy after being reset and will be stopped.",
+                    description.field));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING,
+                    String.format("Failed to reset container for field %s, the container will be stopped.", description.field),
+                    e);
+        }
+        return false;
+    }
+}
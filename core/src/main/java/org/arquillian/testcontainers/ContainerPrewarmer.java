@@ -0,0 +1,115 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Starts the containers needed by test classes in the background before the test classes run. The test classes are
+ * defined as a comma delimited list of class names in the {@value #PREWARM_PROPERTY} system property.
+ * <p>
+ * Each {@link Testcontainer @Testcontainer} field managed by Arquillian, of a test class annotated with
+ * {@link TestcontainersRequired @TestcontainersRequired}, has a container started in the background. Fields which
+ * {@linkplain Testcontainer#dependsOn() depend} on other containers, {@linkplain Testcontainer#lazy() lazy} containers,
+ * and containers with images which are not pulled by name, such as images built from a Dockerfile, are not pre-warmed.
+ * Only one container is started for each matching type, scope, qualifiers and configuration. The first test class which
+ * needs a matching container then waits on, or uses, the pre-warmed container rather than starting a new one.
+ * </p>
+ */
+class ContainerPrewarmer {
+
+    static final String PREWARM_PROPERTY = "org.arquillian.testcontainers.prewarm";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerPrewarmer.class.getName());
+
+    /**
+     * @return the names of the test classes to pre-warm containers for
+     */
+    static List<String> testClassNames() {
+        return names(PREWARM_PROPERTY);
+    }
+
+    /**
+     * Splits the comma delimited value of a system property into a list of names.
+     *
+     * @param property the system property
+     *
+     * @return the names in the system property, or an empty list if the property is not set
+     */
+    static List<String> names(final String property) {
+        final List<String> result = new ArrayList<>();
+        final String value = System.getProperty(property);
+        if (value != null) {
+            for (String name : value.split(",")) {
+                if (!name.isBlank()) {
+                    result.add(name.trim());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Starts the containers for the test classes in the background.
+     *
+     * @param pool       the pool to add the pre-warmed containers to
+     * @param classNames the names of the test classes
+     * @param loader     the class loader to load the test classes with
+     *
+     * @return the number of containers being pre-warmed
+     */
+    int prewarm(final ContainerPool pool, final List<String> classNames, final ClassLoader loader) {
+        int count = 0;
+        for (String className : classNames) {
+            final Class<?> testClass;
+            try {
+                testClass = Class.forName(className, false, loader);
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOGGER.log(Level.WARNING, String.format("Could not load test class %s to pre-warm containers for.", className),
+                        e);
+                continue;
+            }
+            final InjectionPlan plan;
+            try {
+                plan = InjectionPlan.of(testClass);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format("Could not pre-warm containers for test class %s.", className), e);
+                continue;
+            }
+            for (InjectionPlan.InjectionPoint point : plan.points) {
+                final Testcontainer testcontainer = point.testcontainer;
+                if (!testcontainer.value() || testcontainer.lazy() || testcontainer.dependsOn().length > 0) {
+                    continue;
+                }
+                try {
+                    point.validate();
+                    final GenericContainer<?> created = TestcontainerRegistry.create(point.type(), testcontainer);
+                    if (ContainerFingerprint.requestedImageName(created) == null) {
+                        // The key would require resolving the image, which would block the suite until it is available
+                        LOGGER.fine(String.format("Not pre-warming container for field %s as its image is not pulled by name",
+                                point.field));
+                        continue;
+                    }
+                    final String key = pool.key(created, testcontainer, point.qualifiers);
+                    if (pool.prewarm(key, new TestcontainerDescription(testcontainer, created, point.field, key,
+                            new ContainerStartup(created, point.field)), ContainerStarter.executor())) {
+                        count++;
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, String.format("Could not pre-warm container for field %s.", point.field), e);
+                }
+            }
+        }
+        return count;
+    }
+}
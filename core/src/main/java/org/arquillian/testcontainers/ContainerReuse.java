@@ -0,0 +1,93 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.TestcontainersConfiguration;
+
+/**
+ * Reuses containers across JVM runs. A container is reused if the {@link Testcontainer#reuse()} attribute is
+ * {@code true}, or the {@value #REUSE_PROPERTY} system property is set to {@code true}.
+ * <p>
+ * A reused container is labeled with its {@linkplain ContainerFingerprint configuration fingerprint} and uses the
+ * Testcontainers reuse support, which attaches to an already running container with the same configuration instead of
+ * starting a new one. Reused containers are not stopped once the test class or suite is complete, so the next run can
+ * attach to them.
+ * </p>
+ * <p>
+ * Testcontainers only reuses containers if {@code testcontainers.reuse.enable=true} is set in the
+ * {@code ~/.testcontainers.properties} file. If it is not set, the containers are started and stopped as usual.
+ * </p>
+ */
+final class ContainerReuse {
+
+    static final String REUSE_PROPERTY = "org.arquillian.testcontainers.reuse";
+    static final String FINGERPRINT_LABEL = "org.arquillian.testcontainers.fingerprint";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerReuse.class.getName());
+    private static final AtomicBoolean WARNED = new AtomicBoolean();
+
+    private ContainerReuse() {
+    }
+
+    /**
+     * Configures a newly created container to be reused, if reuse is enabled for it.
+     *
+     * @param container     the newly created, not yet started, container
+     * @param testcontainer the annotation the container is being created for
+     */
+    static void configure(final GenericContainer<?> container, final Testcontainer testcontainer) {
+        if (!testcontainer.reuse() && !Boolean.getBoolean(REUSE_PROPERTY)) {
+            return;
+        }
+        configure(container, TestcontainersConfiguration.getInstance().environmentSupportsReuse());
+    }
+
+    /**
+     * Configures a newly created container to be reused.
+     *
+     * @param container the newly created, not yet started, container
+     * @param supported whether the environment supports reusing containers
+     */
+    static void configure(final GenericContainer<?> container, final boolean supported) {
+        if (!supported) {
+            if (WARNED.compareAndSet(false, true)) {
+                LOGGER.warning("Container reuse was requested, but testcontainers.reuse.enable=true is not set in the "
+                        + "~/.testcontainers.properties file. Containers will not be reused.");
+            }
+            return;
+        }
+        // The fingerprint is calculated before the label is added so the label itself does not change it
+        container.withLabel(FINGERPRINT_LABEL, ContainerFingerprint.of(container));
+        container.withReuse(true);
+    }
+
+    /**
+     * @param description the description of the container
+     *
+     * @return {@code true} if the container is reused, and must not be stopped
+     */
+    static boolean isReused(final TestcontainerDescription description) {
+        return isReused(description, TestcontainersConfiguration.getInstance().environmentSupportsReuse());
+    }
+
+    /**
+     * A container may also enable reuse itself, but Testcontainers only attaches to a running container if the environment
+     * supports reuse. Otherwise, a new container is started each run, so it must be stopped.
+     *
+     * @param description the description of the container
+     * @param supported   whether the environment supports reusing containers
+     *
+     * @return {@code true} if the container is reused, and must not be stopped
+     */
+    static boolean isReused(final TestcontainerDescription description, final boolean supported) {
+        return supported && description.instance.isShouldBeReused();
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.arquillian.testcontainers.api.ContainerInitializer;
+import org.arquillian.testcontainers.api.Snapshot;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.ImageNameSubstitutor;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+
+/**
+ * Starts a container from a snapshot of its initialized state, see {@link Snapshot @Snapshot}.
+ * <p>
+ * Before the container is started, the fingerprint of the snapshot is computed from the
+ * {@linkplain ContainerFingerprint configuration} of the container, the type and {@linkplain ContainerInitializer#version()
+ * version} of the initializer, and the content of the {@linkplain ContainerInitializer#inputs() inputs}. If an image for
+ * the fingerprint exists, the container is started from it. Otherwise, the container is initialized once started and
+ * committed to the image. Setting the {@value #REBUILD_PROPERTY} system property to {@code true} ignores existing
+ * snapshots.
+ * </p>
+ * <p>
+ * The snapshot image only exists locally, so the {@link ImageNameSubstitutor} is not applied to it. Otherwise, for example
+ * a registry prefix would be added to the name and the image could not be found.
+ * </p>
+ */
+class ContainerSnapshot {
+
+    static final String REBUILD_PROPERTY = "org.arquillian.testcontainers.snapshot.rebuild";
+    static final String REPOSITORY_PREFIX = "arquillian-snapshot/";
+    static final String FINGERPRINT_LABEL = "org.arquillian.testcontainers.snapshot.fingerprint";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerSnapshot.class.getName());
+    private static final Field IMAGE_FIELD = imageField();
+
+    /**
+     * Where the snapshot images are kept.
+     */
+    interface Store {
+        /**
+         * @param image the name of the snapshot image
+         *
+         * @return {@code true} if the image exists
+         */
+        boolean exists(String image);
+
+        /**
+         * Commits the running container to an image.
+         *
+         * @param container the running container
+         * @param image     the name of the snapshot image
+         * @param labels    the labels to add to the image
+         */
+        void commit(GenericContainer<?> container, String image, Map<String, String> labels);
+    }
+
+    private final GenericContainer<?> container;
+    private final ContainerInitializer<GenericContainer<?>> initializer;
+    private final Store store;
+    private volatile String image;
+    private volatile boolean restored;
+
+    ContainerSnapshot(final GenericContainer<?> container, final ContainerInitializer<GenericContainer<?>> initializer,
+            final Store store) {
+        this.container = container;
+        this.initializer = initializer;
+        this.store = store;
+    }
+
+    /**
+     * Creates the snapshot for a container if the field or parameter it was created for is annotated with
+     * {@link Snapshot @Snapshot}.
+     *
+     * @param container the container
+     * @param field     the field or parameter the container was created for, or {@code null} if not known
+     *
+     * @return the snapshot or {@code null} if the container is not snapshotted
+     */
+    @SuppressWarnings("unchecked")
+    static ContainerSnapshot of(final GenericContainer<?> container, final AnnotatedElement field) {
+        final Snapshot snapshot = field == null ? null : field.getAnnotation(Snapshot.class);
+        if (snapshot == null) {
+            return null;
+        }
+        try {
+            return new ContainerSnapshot(container, snapshot.value().getConstructor().newInstance(), DockerStore.INSTANCE);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException(
+                    String.format("Could not create initializer %s for field %s", snapshot.value().getName(), field), e);
+        }
+    }
+
+    /**
+     * Computes the fingerprint of the snapshot and, if the snapshot exists, replaces the image of the container with
+     * the snapshot. Must be invoked before the container is started.
+     */
+    void beforeStart() {
+        final String fingerprint = fingerprint(container, initializer);
+        image = REPOSITORY_PREFIX + repository(ContainerFingerprint.imageName(container)) + ":" + fingerprint;
+        restored = false;
+        if (Boolean.getBoolean(REBUILD_PROPERTY)) {
+            return;
+        }
+        if (IMAGE_FIELD == null) {
+            LOGGER.warning(String.format("Cannot start container %s from snapshot %s as the image of the container cannot "
+                    + "be replaced, the container will be initialized", container, image));
+            return;
+        }
+        try {
+            restored = store.exists(image);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to look up snapshot %s, the container will be initialized", image),
+                    e);
+        }
+        if (restored) {
+            useSnapshot(container, image);
+        }
+    }
+
+    /**
+     * Initializes the container and commits the snapshot, unless the container was started from the snapshot. Must be
+     * invoked once the container has started. A failure to commit the snapshot is logged, as the container itself is
+     * initialized.
+     *
+     * @throws RuntimeException if the container could not be initialized
+     */
+    void afterStart() {
+        if (restored) {
+            return;
+        }
+        try {
+            initializer.initialize(container);
+        } catch (Exception e) {
+            throw new RuntimeException(String.format("Failed to initialize container %s with %s", container,
+                    initializer.getClass().getName()), e);
+        }
+        try {
+            store.commit(container, image, Map.of(FINGERPRINT_LABEL, image.substring(image.lastIndexOf(':') + 1)));
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to commit snapshot %s of container %s", image, container), e);
+        }
+    }
+
+    /**
+     * @return the name of the snapshot image, or {@code null} if the container has not been started
+     */
+    String image() {
+        return image;
+    }
+
+    /**
+     * @return {@code true} if the container was started from an existing snapshot
+     */
+    boolean isRestored() {
+        return restored;
+    }
+
+    /**
+     * Computes the fingerprint of the snapshot of a container which has not yet been started.
+     *
+     * @param container   the container
+     * @param initializer the initializer of the container
+     *
+     * @return a hex encoded SHA-256 hash of the container configuration and the initializer inputs
+     */
+    static String fingerprint(final GenericContainer<?> container, final ContainerInitializer<?> initializer) {
+        final StringBuilder description = new StringBuilder(ContainerFingerprint.describe(container))
+                .append("initializer=").append(initializer.getClass().getName()).append('\n')
+                .append("version=").append(initializer.version()).append('\n');
+        final List<Path> inputs = new ArrayList<>(initializer.inputs());
+        inputs.sort(null);
+        for (Path input : inputs) {
+            for (Path file : files(input)) {
+                description.append("input=").append(file).append(':').append(hash(file)).append('\n');
+            }
+        }
+        return ContainerFingerprint.hash(description.toString());
+    }
+
+    /**
+     * Replaces the image of the container with the snapshot image, without the image name substitutor. The container only
+     * allows replacing its image by name, which would substitute the name, so the substitutor is replaced afterwards.
+     *
+     * @param container the container which has not been started
+     * @param image     the name of the snapshot image
+     */
+    private static void useSnapshot(final GenericContainer<?> container, final String image) {
+        container.setDockerImageName(image);
+        try {
+            IMAGE_FIELD.set(container, container.getImage().withImageNameSubstitutor(ImageNameSubstitutor.noop()));
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(String.format("Failed to replace the image of container %s", container), e);
+        }
+    }
+
+    private static Field imageField() {
+        try {
+            final Field field = GenericContainer.class.getDeclaredField("image");
+            if (field.getType() != RemoteDockerImage.class) {
+                return null;
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Cannot access the image of containers, snapshots will not be restored", e);
+            return null;
+        }
+    }
+
+    private static List<Path> files(final Path input) {
+        if (!Files.isDirectory(input)) {
+            return List.of(input);
+        }
+        try (Stream<Path> files = Files.walk(input)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to list the snapshot inputs in %s", input), e);
+        }
+    }
+
+    private static String hash(final Path file) {
+        if (!Files.exists(file)) {
+            return "missing";
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            return ContainerFingerprint.hex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Failed to read the snapshot input %s", file), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required to be supported", e);
+        }
+    }
+
+    private static String repository(final String imageName) {
+        if (imageName == null) {
+            return "container";
+        }
+        // Keep only the name of the image, without the registry, path or tag
+        String name = imageName.substring(imageName.lastIndexOf('/') + 1);
+        final int end = name.indexOf(':') >= 0 ? name.indexOf(':') : name.indexOf('@');
+        name = end < 0 ? name : name.substring(0, end);
+        name = name.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9._-]", "-");
+        return name.isEmpty() ? "container" : name;
+    }
+
+    private static class DockerStore implements Store {
+        static final DockerStore INSTANCE = new DockerStore();
+
+        @Override
+        public boolean exists(final String image) {
+            try {
+                DockerClientFactory.lazyClient().inspectImageCmd(image).exec();
+                return true;
+            } catch (NotFoundException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public void commit(final GenericContainer<?> container, final String image, final Map<String, String> labels) {
+            final int tag = image.lastIndexOf(':');
+            DockerClientFactory.lazyClient()
+                    .commitCmd(container.getContainerId())
+                    .withRepository(image.substring(0, tag))
+                    .withTag(image.substring(tag + 1))
+                    .withLabels(labels)
+                    .exec();
+        }
+    }
+}
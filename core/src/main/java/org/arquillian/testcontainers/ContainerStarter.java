@@ -0,0 +1,134 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Starts the containers which Arquillian manages the lifecycle for.
+ * <p>
+ * By default, containers are started one at a time on the calling thread. If the {@value #PARALLEL_PROPERTY} system
+ * property is set to {@code true}, all containers are started at once on a bounded executor and waited on together.
+ * The maximum number of containers started at the same time can be set with the {@value #THREADS_PROPERTY} system
+ * property, see {@link ContainerExecutors#threads(String)} for the default.
+ * </p>
+ */
+class ContainerStarter {
+
+    static final String PARALLEL_PROPERTY = "org.arquillian.testcontainers.start.parallel";
+    static final String THREADS_PROPERTY = "org.arquillian.testcontainers.start.threads";
+
+    private static class ExecutorHolder {
+        static final ExecutorService EXECUTOR = ContainerExecutors.newBoundedExecutor("arquillian-testcontainers-start",
+                ContainerExecutors.threads(THREADS_PROPERTY));
+    }
+
+    /**
+     * @return the executor containers are started on
+     */
+    static Executor executor() {
+        return ExecutorHolder.EXECUTOR;
+    }
+
+    /**
+     * Starts each container whose {@link org.arquillian.testcontainers.api.Testcontainer#value()} is {@code true}. The
+     * groups are started in order, a group only being started once each container in the previous group has started.
+     * {@linkplain org.arquillian.testcontainers.api.Testcontainer#lazy() Lazy} containers are only started if a container
+     * being started depends on them.
+     * <p>
+     * When starting in parallel every container in a group is attempted even if one of them fails. All failures are then
+     * reported in a single exception with the field each failed container was created for.
+     * </p>
+     *
+     * @param waves the groups of containers to start, see {@link TestcontainerRegistry#startOrder()}
+     */
+    void start(final List<List<TestcontainerDescription>> waves) {
+        // Walk the groups backwards so the dependencies of every container being started are known before its group
+        final Set<TestcontainerDescription> required = new HashSet<>();
+        for (int i = waves.size() - 1; i >= 0; i--) {
+            for (TestcontainerDescription description : waves.get(i)) {
+                if (isStarted(description, required)) {
+                    required.addAll(description.dependencies);
+                }
+            }
+        }
+        for (List<TestcontainerDescription> wave : waves) {
+            startWave(wave, required);
+        }
+    }
+
+    private static boolean isStarted(final TestcontainerDescription description,
+            final Set<TestcontainerDescription> required) {
+        return description.testcontainer.value() && (!description.testcontainer.lazy() || required.contains(description));
+    }
+
+    private void startWave(final List<TestcontainerDescription> wave, final Set<TestcontainerDescription> required) {
+        final List<TestcontainerDescription> toStart = new ArrayList<>();
+        for (TestcontainerDescription description : wave) {
+            if (isStarted(description, required)) {
+                toStart.add(description);
+            }
+        }
+        if (toStart.size() < 2 || !Boolean.getBoolean(PARALLEL_PROPERTY)) {
+            for (TestcontainerDescription description : toStart) {
+                description.startup.start();
+            }
+            return;
+        }
+        final Map<TestcontainerDescription, Future<?>> futures = new LinkedHashMap<>();
+        for (TestcontainerDescription description : toStart) {
+            futures.put(description, ExecutorHolder.EXECUTOR.submit(description.startup::start));
+        }
+        final List<RuntimeException> failures = new ArrayList<>();
+        for (Map.Entry<TestcontainerDescription, Future<?>> entry : futures.entrySet()) {
+            try {
+                entry.getValue().get();
+            } catch (ExecutionException e) {
+                failures.add(new RuntimeException(
+                        String.format("Failed to start container for field %s", entry.getKey().field), e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.values().forEach(future -> future.cancel(true));
+                throw new RuntimeException("Interrupted while waiting for containers to start", e);
+            }
+        }
+        throwFailures(failures, "start");
+    }
+
+    static void throwFailures(final List<RuntimeException> failures, final String action) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        if (failures.size() == 1) {
+            throw failures.get(0);
+        }
+        final StringBuilder msg = new StringBuilder()
+                .append("Failed to ")
+                .append(action)
+                .append(' ')
+                .append(failures.size())
+                .append(" containers:");
+        for (RuntimeException failure : failures) {
+            msg.append(System.lineSeparator())
+                    .append("    ")
+                    .append(failure.getMessage())
+                    .append(": ")
+                    .append(failure.getCause());
+        }
+        final RuntimeException result = new RuntimeException(msg.toString());
+        failures.forEach(result::addSuppressed);
+        throw result;
+    }
+}
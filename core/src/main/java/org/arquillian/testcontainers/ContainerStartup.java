@@ -0,0 +1,184 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.AnnotatedElement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Ensures a container is only started once, even if it is requested to be started from several threads. Any caller
+ * requesting the start while it is in progress waits on the start already in progress.
+ * <p>
+ * If the {@link AdmissionScheduler} is enabled, the start waits to be admitted before the container is started, and the
+ * memory of the container is held in the budget until the container is {@linkplain #stopped() stopped}. If the container
+ * is {@linkplain ContainerSnapshot snapshotted}, it is started from its snapshot or initialized once started.
+ * </p>
+ */
+class ContainerStartup {
+
+    private final GenericContainer<?> container;
+    private final AdmissionScheduler.Cost cost;
+    private final AdmissionScheduler scheduler;
+    private final ContainerSnapshot snapshot;
+    private final AtomicReference<CompletableFuture<Void>> future;
+    private final AtomicBoolean reported;
+    private final AtomicBoolean holding;
+    private volatile Duration queued;
+    private volatile Duration duration;
+    private volatile boolean failed;
+
+    /**
+     * Creates the startup for a container, admitted by the {@linkplain AdmissionScheduler#instance() scheduler for the
+     * JVM}.
+     *
+     * @param container the container to start
+     * @param field     the field or parameter the container was created for, which may declare its
+     *                      {@linkplain AdmissionScheduler.Cost cost} and {@linkplain ContainerSnapshot snapshot}
+     */
+    ContainerStartup(final GenericContainer<?> container, final AnnotatedElement field) {
+        this(container, AdmissionScheduler.Cost.of(field, container.getClass()), AdmissionScheduler.instance(),
+                ContainerSnapshot.of(container, field));
+    }
+
+    ContainerStartup(final GenericContainer<?> container, final AdmissionScheduler.Cost cost,
+            final AdmissionScheduler scheduler, final ContainerSnapshot snapshot) {
+        this.container = container;
+        this.cost = cost;
+        this.scheduler = scheduler;
+        this.snapshot = snapshot;
+        this.future = new AtomicReference<>();
+        this.reported = new AtomicBoolean();
+        this.holding = new AtomicBoolean();
+    }
+
+    /**
+     * Starts the container on the calling thread, or waits for the start if it has already been requested. If the
+     * container failed to start, the same failure is thrown again.
+     */
+    void start() {
+        final CompletableFuture<Void> started = new CompletableFuture<>();
+        if (future.compareAndSet(null, started)) {
+            run(started);
+        }
+        try {
+            future.get().join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Starts the container in the background, unless the start has already been requested.
+     *
+     * @param executor the executor to start the container on
+     *
+     * @return the future which completes once the container has started
+     */
+    CompletableFuture<Void> startAsync(final Executor executor) {
+        final CompletableFuture<Void> started = new CompletableFuture<>();
+        if (future.compareAndSet(null, started)) {
+            executor.execute(() -> run(started));
+        }
+        return future.get();
+    }
+
+    /**
+     * @return the time the start waited to be admitted by the {@link AdmissionScheduler}, or {@code null} if the start
+     *             was not scheduled
+     */
+    Duration queued() {
+        return queued;
+    }
+
+    /**
+     * @return the time the container took to start, or {@code null} if the start has not completed
+     */
+    Duration duration() {
+        return duration;
+    }
+
+    /**
+     * @return {@code true} if the container failed to start
+     */
+    boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * Marks the start of the container as reported to the {@link ContainerMetrics}. A container shared between test
+     * classes is only reported once.
+     *
+     * @return {@code true} if the start has completed and was not already reported
+     */
+    boolean markReported() {
+        return duration != null && reported.compareAndSet(false, true);
+    }
+
+    /**
+     * Returns the memory of the container to the {@link AdmissionScheduler} budget. Must be invoked once the container
+     * is stopped, or is no longer managed by this JVM. Invoking it more than once, or for a container which was not
+     * started, does nothing.
+     */
+    void stopped() {
+        if (holding.compareAndSet(true, false)) {
+            scheduler.stopped(cost);
+        }
+    }
+
+    private void run(final CompletableFuture<Void> started) {
+        final boolean scheduled = scheduler.isEnabled();
+        if (scheduled) {
+            try {
+                queued = scheduler.admit(cost);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failed = true;
+                duration = Duration.ZERO;
+                started.completeExceptionally(
+                        new RuntimeException(String.format("Interrupted waiting to start container %s", container), e));
+                return;
+            }
+        }
+        final long start = System.nanoTime();
+        try {
+            if (snapshot != null) {
+                snapshot.beforeStart();
+            }
+            container.start();
+            if (snapshot != null) {
+                snapshot.afterStart();
+            }
+            duration = Duration.ofNanos(System.nanoTime() - start);
+            holding.set(scheduled);
+            started.complete(null);
+        } catch (Throwable t) {
+            failed = true;
+            duration = Duration.ofNanos(System.nanoTime() - start);
+            if (scheduled) {
+                scheduler.stopped(cost);
+            }
+            started.completeExceptionally(t);
+        } finally {
+            if (scheduled) {
+                scheduler.started(cost);
+            }
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerTiming.Phase;
+
+/**
+ * Stops the containers of a test. Containers are stopped in the reverse of their start order, so a container is stopped
+ * before the containers it depends on.
+ * <p>
+ * By default, containers are stopped one at a time on the calling thread. If the {@value #PARALLEL_PROPERTY} system
+ * property is set to {@code true}, the containers are stopped at once on a bounded executor and waited on together. The
+ * maximum number of containers stopped at the same time can be set with the {@value #THREADS_PROPERTY} system property.
+ * </p>
+ * <p>
+ * If the {@value #DETACHED_PROPERTY} system property is set to {@code true}, the containers are stopped in the background
+ * and the test thread does not wait for them. Any pending stops are waited on at the end of the suite, and again when the
+ * JVM exits, for at most the number of seconds defined by the {@value #TIMEOUT_PROPERTY} system property.
+ * </p>
+ */
+class ContainerStopper {
+
+    static final String PARALLEL_PROPERTY = "org.arquillian.testcontainers.stop.parallel";
+    static final String DETACHED_PROPERTY = "org.arquillian.testcontainers.stop.detached";
+    static final String THREADS_PROPERTY = "org.arquillian.testcontainers.stop.threads";
+    static final String TIMEOUT_PROPERTY = "org.arquillian.testcontainers.stop.timeout";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerStopper.class.getName());
+    private static final Set<CompletableFuture<Void>> PENDING = ConcurrentHashMap.newKeySet();
+    private static final AtomicBoolean HOOK_REGISTERED = new AtomicBoolean();
+
+    private static class ExecutorHolder {
+        static final ExecutorService EXECUTOR = ContainerExecutors.newBoundedExecutor("arquillian-testcontainers-stop",
+                ContainerExecutors.threads(THREADS_PROPERTY));
+    }
+
+    /**
+     * Stops the containers. Each container is attempted to be stopped even if stopping another container fails. Unless
+     * stopping detached, all failures are reported in a single exception.
+     *
+     * @param waves the groups of containers in the order they were started, see
+     *                  {@link TestcontainerRegistry#startOrder()}
+     */
+    void stop(final List<List<TestcontainerDescription>> waves) {
+        stop(waves, ContainerMetrics.NONE, null);
+    }
+
+    /**
+     * Stops the containers, recording the time each container took to stop. Each container is attempted to be stopped
+     * even if stopping another container fails. Unless stopping detached, all failures are reported in a single
+     * exception.
+     *
+     * @param waves     the groups of containers in the order they were started, see
+     *                      {@link TestcontainerRegistry#startOrder()}
+     * @param metrics   the metrics to record the timings to
+     * @param testClass the name of the test class the containers belong to, or {@code null} if they belong to the suite
+     */
+    void stop(final List<List<TestcontainerDescription>> waves, final ContainerMetrics metrics, final String testClass) {
+        final List<RuntimeException> failures = Collections.synchronizedList(new ArrayList<>());
+        if (Boolean.getBoolean(DETACHED_PROPERTY)) {
+            registerShutdownHook();
+            final CompletableFuture<Void> future = stopAsync(waves, failures, metrics, testClass);
+            PENDING.add(future);
+            future.whenComplete((ignore, error) -> {
+                PENDING.remove(future);
+                for (RuntimeException failure : failures) {
+                    LOGGER.log(Level.WARNING, failure.getMessage(), failure.getCause());
+                }
+            });
+            return;
+        }
+        if (Boolean.getBoolean(PARALLEL_PROPERTY)) {
+            stopAsync(waves, failures, metrics, testClass).join();
+        } else {
+            for (int i = waves.size() - 1; i >= 0; i--) {
+                for (TestcontainerDescription description : waves.get(i)) {
+                    stop(description, failures, metrics, testClass);
+                }
+            }
+        }
+        ContainerStarter.throwFailures(failures, "stop");
+    }
+
+    /**
+     * Waits for any containers being stopped in the background to be stopped.
+     */
+    static void awaitDetached() {
+        final long timeout = TimeUnit.SECONDS.toNanos(Long.getLong(TIMEOUT_PROPERTY, 60L));
+        final long start = System.nanoTime();
+        for (CompletableFuture<Void> future : Set.copyOf(PENDING)) {
+            try {
+                future.get(Math.max(0L, timeout - (System.nanoTime() - start)), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                LOGGER.warning(String.format("Timed out waiting for %d container groups to stop.", PENDING.size()));
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException ignore) {
+                // Failures are logged when the future completes
+            }
+        }
+    }
+
+    private static CompletableFuture<Void> stopAsync(final List<List<TestcontainerDescription>> waves,
+            final List<RuntimeException> failures, final ContainerMetrics metrics, final String testClass) {
+        // Chain the groups rather than blocking on each group so no executor thread waits on another task
+        CompletableFuture<Void> result = CompletableFuture.completedFuture(null);
+        for (int i = waves.size() - 1; i >= 0; i--) {
+            final List<TestcontainerDescription> wave = waves.get(i);
+            result = result.thenCompose(ignore -> CompletableFuture.allOf(wave.stream()
+                    .map(description -> CompletableFuture.runAsync(
+                            () -> stop(description, failures, metrics, testClass), ExecutorHolder.EXECUTOR))
+                    .toArray(CompletableFuture[]::new)));
+        }
+        return result;
+    }
+
+    private static void stop(final TestcontainerDescription description, final List<RuntimeException> failures,
+            final ContainerMetrics metrics, final String testClass) {
+        final long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            description.instance.stop();
+        } catch (RuntimeException e) {
+            failed = true;
+            failures.add(new RuntimeException(String.format("Failed to stop container for field %s", description.field), e));
+        } finally {
+            // Even if the stop failed, the container is no longer managed so must not hold any of the budget
+            description.startup.stopped();
+            // Only containers which were started are timed, stopping any other container does nothing
+            if (description.startup.duration() != null) {
+                metrics.record(testClass, description, Phase.STOP, Duration.ofNanos(System.nanoTime() - start), failed);
+            }
+        }
+    }
+
+    private static void registerShutdownHook() {
+        if (HOOK_REGISTERED.compareAndSet(false, true)) {
+            Runtime.getRuntime()
+                    .addShutdownHook(new Thread(ContainerStopper::awaitDetached, "arquillian-testcontainers-stop-barrier"));
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerLifecycleListener;
+import org.arquillian.testcontainers.api.ContainerTiming;
+
+/**
+ * Writes the timings of the container lifecycle phases to a file once the suite is complete. Timings are only collected
+ * if the {@value #FILE_PROPERTY} system property is set to the path of the file to write.
+ * <p>
+ * The timings are written as JSON, or as CSV if the file name ends with {@code .csv}. The {@value #FORMAT_PROPERTY}
+ * system property can be set to {@code json} or {@code csv} to override the format.
+ * </p>
+ */
+class ContainerTimingWriter implements ContainerLifecycleListener {
+
+    static final String FILE_PROPERTY = "org.arquillian.testcontainers.metrics.file";
+    static final String FORMAT_PROPERTY = "org.arquillian.testcontainers.metrics.format";
+
+    private static final Logger LOGGER = Logger.getLogger(ContainerTimingWriter.class.getName());
+
+    private final Queue<ContainerTiming> timings = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public void completed(final ContainerTiming timing) {
+        if (System.getProperty(FILE_PROPERTY) != null) {
+            timings.add(timing);
+        }
+    }
+
+    @Override
+    public void suiteCompleted() {
+        final String file = System.getProperty(FILE_PROPERTY);
+        if (file == null || file.isBlank()) {
+            return;
+        }
+        final Path path = Paths.get(file);
+        final List<ContainerTiming> toWrite = new ArrayList<>(timings);
+        timings.clear();
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                if (isCsv(file)) {
+                    writeCsv(toWrite, writer);
+                } else {
+                    writeJson(toWrite, writer);
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to write container timings to %s", path), e);
+        }
+    }
+
+    /**
+     * Writes the timings as a JSON array.
+     *
+     * @param timings the timings to write
+     * @param writer  the writer to write to
+     *
+     * @throws IOException if the timings could not be written
+     */
+    static void writeJson(final Collection<ContainerTiming> timings, final Writer writer) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (ContainerTiming timing : timings) {
+            writer.write(first ? System.lineSeparator() : "," + System.lineSeparator());
+            first = false;
+            writer.write("  {\"testClass\": ");
+            writer.write(jsonString(timing.getTestClass()));
+            writer.write(", \"name\": ");
+            writer.write(jsonString(timing.getName()));
+            writer.write(", \"image\": ");
+            writer.write(jsonString(timing.getImage()));
+            writer.write(", \"phase\": ");
+            writer.write(jsonString(timing.getPhase().name()));
+            writer.write(", \"durationMs\": ");
+            writer.write(millis(timing));
+            writer.write(", \"failed\": ");
+            writer.write(Boolean.toString(timing.isFailed()));
+            writer.write('}');
+        }
+        writer.write(System.lineSeparator());
+        writer.write(']');
+        writer.write(System.lineSeparator());
+    }
+
+    /**
+     * Writes the timings as CSV with a header row.
+     *
+     * @param timings the timings to write
+     * @param writer  the writer to write to
+     *
+     * @throws IOException if the timings could not be written
+     */
+    static void writeCsv(final Collection<ContainerTiming> timings, final Writer writer) throws IOException {
+        writer.write("testClass,name,image,phase,durationMs,failed");
+        writer.write(System.lineSeparator());
+        for (ContainerTiming timing : timings) {
+            writer.write(csvValue(timing.getTestClass()));
+            writer.write(',');
+            writer.write(csvValue(timing.getName()));
+            writer.write(',');
+            writer.write(csvValue(timing.getImage()));
+            writer.write(',');
+            writer.write(timing.getPhase().name());
+            writer.write(',');
+            writer.write(millis(timing));
+            writer.write(',');
+            writer.write(Boolean.toString(timing.isFailed()));
+            writer.write(System.lineSeparator());
+        }
+    }
+
+    private static boolean isCsv(final String file) {
+        final String format = System.getProperty(FORMAT_PROPERTY);
+        if (format != null && !format.isBlank()) {
+            return "csv".equalsIgnoreCase(format.trim());
+        }
+        return file.toLowerCase(Locale.ROOT).endsWith(".csv");
+    }
+
+    private static String millis(final ContainerTiming timing) {
+        return String.format(Locale.ROOT, "%.3f", timing.getDuration().toNanos() / 1_000_000.0);
+    }
+
+    private static String jsonString(final String value) {
+        if (value == null) {
+            return "null";
+        }
+        final StringBuilder result = new StringBuilder(value.length() + 2).append('"');
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '"':
+                    result.append("\\\"");
+                    break;
+                case '\\':
+                    result.append("\\\\");
+                    break;
+                case '\n':
+                    result.append("\\n");
+                    break;
+                case '\r':
+                    result.append("\\r");
+                    break;
+                case '\t':
+                    result.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        result.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        result.append(c);
+                    }
+            }
+        }
+        return result.append('"').toString();
+    }
+
+    private static String csvValue(final String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
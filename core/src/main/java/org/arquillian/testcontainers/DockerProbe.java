@@ -0,0 +1,133 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.testcontainers.DockerClientFactory;
+
+/**
+ * Checks whether a container environment is available. The result, whether positive or negative, is remembered for the
+ * life of the JVM so the potentially slow discovery only happens once rather than for each test class.
+ * <p>
+ * The {@value #TTL_PROPERTY} system property can be set to the number of milliseconds a result is valid for, after
+ * which the environment is probed again. The {@value #AVAILABLE_PROPERTY} system property can be set to {@code true} or
+ * {@code false} to skip the probe entirely.
+ * </p>
+ * <p>
+ * The time each probe took is recorded as the {@link ContainerTiming.Phase#PROBE PROBE} phase of the
+ * {@linkplain ContainerMetrics container timings}.
+ * </p>
+ */
+final class DockerProbe {
+
+    static final String AVAILABLE_PROPERTY = "org.arquillian.testcontainers.docker.available";
+    static final String TTL_PROPERTY = "org.arquillian.testcontainers.docker.probe.ttl";
+
+    private static final Logger LOGGER = Logger.getLogger(DockerProbe.class.getName());
+    private static final DockerProbe INSTANCE = new DockerProbe(DockerProbe::probe, System::nanoTime);
+
+    private final BooleanSupplier probe;
+    private final LongSupplier clock;
+    private volatile Result result;
+
+    DockerProbe(final BooleanSupplier probe, final LongSupplier clock) {
+        this.probe = probe;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the probe shared by the JVM
+     */
+    static DockerProbe instance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Checks whether a container environment is available, probing the environment only if there is no valid
+     * remembered result.
+     *
+     * @return {@code true} if a container environment is available
+     */
+    boolean isAvailable() {
+        final String override = System.getProperty(AVAILABLE_PROPERTY);
+        if (override != null && !override.isBlank()) {
+            return Boolean.parseBoolean(override.trim());
+        }
+        Result current = result;
+        if (current == null || isExpired(current)) {
+            synchronized (this) {
+                current = result;
+                if (current == null || isExpired(current)) {
+                    current = probeNow();
+                    result = current;
+                }
+            }
+        }
+        return current.available;
+    }
+
+    /**
+     * Records how long the last probe of the environment took, if it has not already been recorded. Nothing is recorded
+     * if the environment has not been probed.
+     *
+     * @param metrics the metrics to record the probe to
+     */
+    void record(final ContainerMetrics metrics) {
+        final Result current = result;
+        if (current != null && current.reported.compareAndSet(false, true)) {
+            metrics.record(new ContainerTiming(null, null, null, ContainerTiming.Phase.PROBE,
+                    Duration.ofNanos(current.latency), !current.available));
+        }
+    }
+
+    private boolean isExpired(final Result current) {
+        final long ttl = Long.getLong(TTL_PROPERTY, -1L);
+        return ttl >= 0 && clock.getAsLong() - current.probedAt >= TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+
+    private Result probeNow() {
+        final long start = clock.getAsLong();
+        final boolean available = probe.getAsBoolean();
+        final long end = clock.getAsLong();
+        final Result current = new Result(available, end - start, end);
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine(String.format("Container environment available: %s, probe took %d ms", available,
+                    TimeUnit.NANOSECONDS.toMillis(current.latency)));
+        }
+        return current;
+    }
+
+    @SuppressWarnings("resource")
+    private static boolean probe() {
+        try {
+            DockerClientFactory.instance().client();
+            return true;
+        } catch (Throwable ex) {
+            return false;
+        }
+    }
+
+    private static class Result {
+        final boolean available;
+        final long latency;
+        final long probedAt;
+        final AtomicBoolean reported = new AtomicBoolean();
+
+        private Result(final boolean available, final long latency, final long probedAt) {
+            this.available = available;
+            this.latency = latency;
+            this.probedAt = probedAt;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Pulls the images needed by the test suite at once, before the first test class runs, rather than one at a time as
+ * each container is first started.
+ * <p>
+ * The images pulled are those of the {@link Testcontainer @Testcontainer} fields managed by Arquillian, of the test
+ * classes annotated with {@link TestcontainersRequired @TestcontainersRequired}, defined in the
+ * {@value #CLASSES_PROPERTY} system property. If the property is not set, the test classes defined for
+ * {@linkplain ContainerPrewarmer pre-warming} are used. Additional images can be defined in the {@value #IMAGES_PROPERTY}
+ * system property. Both properties are comma delimited lists. The maximum number of images pulled at the same time can
+ * be set with the {@value #THREADS_PROPERTY} system property, see {@link ContainerExecutors#threads(String)} for the
+ * default.
+ * </p>
+ */
+class ImagePrePuller {
+
+    static final String CLASSES_PROPERTY = "org.arquillian.testcontainers.prepull.classes";
+    static final String IMAGES_PROPERTY = "org.arquillian.testcontainers.prepull.images";
+    static final String THREADS_PROPERTY = "org.arquillian.testcontainers.prepull.threads";
+
+    private static final Logger LOGGER = Logger.getLogger(ImagePrePuller.class.getName());
+
+    /**
+     * Pulls an image.
+     */
+    interface ImagePuller {
+        /**
+         * Resolves the image, which pulls it if it is not already available.
+         *
+         * @param image the image to resolve
+         *
+         * @return the name of the resolved image
+         *
+         * @throws Exception if the image could not be pulled
+         */
+        String pull(Future<String> image) throws Exception;
+    }
+
+    private final ImagePuller puller;
+
+    ImagePrePuller() {
+        this(Future::get);
+    }
+
+    ImagePrePuller(final ImagePuller puller) {
+        this.puller = puller;
+    }
+
+    /**
+     * @return the names of the test classes to pull the images for
+     */
+    static List<String> testClassNames() {
+        final List<String> result = ContainerPrewarmer.names(CLASSES_PROPERTY);
+        return result.isEmpty() ? ContainerPrewarmer.testClassNames() : result;
+    }
+
+    /**
+     * Collects the images for the test classes and the additional images from the {@value #IMAGES_PROPERTY} system
+     * property. The images of the containers are not resolved, as resolving an image pulls it, so the images of two
+     * container types are pulled separately even if they are the same image.
+     *
+     * @param classNames the names of the test classes
+     * @param loader     the class loader to load the test classes with
+     *
+     * @return the images to pull, keyed by the name of the container type or the name of the additional image
+     */
+    Map<String, Future<String>> images(final List<String> classNames, final ClassLoader loader) {
+        final Map<String, Future<String>> result = new LinkedHashMap<>();
+        for (String className : classNames) {
+            final InjectionPlan plan;
+            try {
+                plan = InjectionPlan.of(Class.forName(className, false, loader));
+            } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+                LOGGER.log(Level.WARNING, String.format("Could not load test class %s to pull images for.", className), e);
+                continue;
+            }
+            for (InjectionPlan.InjectionPoint point : plan.points) {
+                if (!point.testcontainer.value() || result.containsKey(point.type().getName())) {
+                    continue;
+                }
+                try {
+                    point.validate();
+                    final GenericContainer<?> created = TestcontainerRegistry.create(point.type(), point.testcontainer);
+                    result.put(point.type().getName(), created.getImage());
+                } catch (RuntimeException e) {
+                    LOGGER.log(Level.WARNING, String.format("Could not determine the image for field %s.", point.field), e);
+                }
+            }
+        }
+        for (String image : ContainerPrewarmer.names(IMAGES_PROPERTY)) {
+            try {
+                final DockerImageName name = DockerImageName.parse(image);
+                result.putIfAbsent(name.asCanonicalNameString(), new RemoteDockerImage(name));
+            } catch (IllegalArgumentException e) {
+                LOGGER.log(Level.WARNING, String.format("Invalid image name %s.", image), e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Pulls the images, waiting for all of them to complete. An image which fails to be pulled is logged, and will be
+     * pulled again when a container using it is started.
+     *
+     * @param images the images to pull, keyed by a description of the image used if it fails to be pulled
+     *
+     * @return how long each image took to pull, keyed by the resolved name of the image, in the order the images were
+     *             given, for the images successfully pulled
+     */
+    Map<String, Duration> pull(final Map<String, ? extends Future<String>> images) {
+        final Map<String, Duration> timings = new LinkedHashMap<>();
+        if (images.isEmpty()) {
+            return timings;
+        }
+        final ExecutorService executor = ContainerExecutors.newBoundedExecutor("arquillian-testcontainers-pull",
+                ContainerExecutors.threads(THREADS_PROPERTY));
+        try {
+            final Map<String, Future<Map.Entry<String, Duration>>> futures = new LinkedHashMap<>();
+            for (Map.Entry<String, ? extends Future<String>> image : images.entrySet()) {
+                futures.put(image.getKey(), executor.submit(() -> {
+                    final long start = System.nanoTime();
+                    final String name = puller.pull(image.getValue());
+                    return Map.entry(name, Duration.ofNanos(System.nanoTime() - start));
+                }));
+            }
+            for (Map.Entry<String, Future<Map.Entry<String, Duration>>> entry : futures.entrySet()) {
+                try {
+                    final Map.Entry<String, Duration> pulled = entry.getValue().get();
+                    timings.putIfAbsent(pulled.getKey(), pulled.getValue());
+                    LOGGER.fine(String.format("Pulled image %s in %d ms", pulled.getKey(), pulled.getValue().toMillis()));
+                } catch (ExecutionException e) {
+                    LOGGER.log(Level.WARNING, String.format("Failed to pull image %s.", entry.getKey()), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.values().forEach(future -> future.cancel(true));
+                    throw new RuntimeException("Interrupted while waiting for images to be pulled", e);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return timings;
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.InaccessibleObjectException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.arquillian.testcontainers.api.ContainerQualifier;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * The precomputed plan for injecting containers into a type. The reflective work of finding the
+ * {@link Testcontainer @Testcontainer} fields, validating them and resolving their qualifiers and dependencies is done
+ * once per type, rather than each time a test instance is enriched.
+ */
+final class InjectionPlan {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandle REFLECTIVE_SET;
+
+    static {
+        try {
+            REFLECTIVE_SET = MethodHandles.lookup().findVirtual(Field.class, "set", SETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * The names of the qualifier meta-annotations of the dependency injection APIs, which are not dependencies
+     */
+    private static final Set<String> INJECT_QUALIFIERS = Set.of("jakarta.inject.Qualifier", "javax.inject.Qualifier");
+    private static final Set<Class<?>> UNMARKED_QUALIFIERS = ConcurrentHashMap.newKeySet();
+    private static final Logger LOGGER = Logger.getLogger(InjectionPlan.class.getName());
+
+    // The plan is stored on the type it is for and is released together with the type, even though it holds the fields
+    // and setters strongly. It also keeps the classes of this extension alive while the type is alive, which is
+    // acceptable as the extension is loaded by the class loader of the test classes or one of its parents.
+    private static final ClassValue<InjectionPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected InjectionPlan computeValue(final Class<?> type) {
+            return new InjectionPlan(type);
+        }
+    };
+
+    /**
+     * Whether the type is annotated with {@link TestcontainersRequired @TestcontainersRequired}
+     */
+    final boolean required;
+    /**
+     * The fields to inject, including the fields of super types
+     */
+    final List<InjectionPoint> points;
+    /**
+     * Whether any of the fields depends on another field
+     */
+    final boolean hasDependencies;
+    /**
+     * The error for a dependency which could not be resolved, thrown once the fields have been injected
+     */
+    final RuntimeException dependencyError;
+    /**
+     * Whether any of the fields can be injected before an instance of the type exists
+     */
+    final boolean hasEager;
+
+    private InjectionPlan(final Class<?> type) {
+        required = isAnnotatedWith(type, TestcontainersRequired.class);
+        final List<InjectionPoint> points = new ArrayList<>();
+        if (required) {
+            for (Field field : getFieldsWithAnnotation(type)) {
+                points.add(new InjectionPoint(field));
+            }
+        }
+        boolean hasDependencies = false;
+        RuntimeException dependencyError = null;
+        for (InjectionPoint point : points) {
+            if (dependencyError == null) {
+                dependencyError = point.resolveDependencies(points);
+            }
+            hasDependencies |= !point.dependencies.isEmpty();
+        }
+        // Static fields are injected before an instance exists, unless they depend on an instance field
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (InjectionPoint point : points) {
+                if (point.eager && point.dependencies.stream().anyMatch(i -> !points.get(i).eager)) {
+                    point.eager = false;
+                    changed = true;
+                }
+            }
+        }
+        this.points = List.copyOf(points);
+        this.hasDependencies = hasDependencies;
+        this.dependencyError = dependencyError;
+        this.hasEager = points.stream().anyMatch(point -> point.eager);
+    }
+
+    /**
+     * Returns the plan for the type.
+     *
+     * @param type the type to get the injection plan for
+     *
+     * @return the injection plan
+     */
+    static InjectionPlan of(final Class<?> type) {
+        return PLANS.get(type);
+    }
+
+    /**
+     * A field to inject a container into.
+     */
+    static final class InjectionPoint {
+        final Field field;
+        final Testcontainer testcontainer;
+        final List<Annotation> qualifiers;
+        /**
+         * The indexes of the points in the plan this point depends on
+         */
+        final List<Integer> dependencies;
+        final boolean isStatic;
+        /**
+         * Whether the field is injected once, before an instance of the type exists. Only written while the plan is
+         * created.
+         */
+        boolean eager;
+        private final MethodHandle setter;
+        /**
+         * The error found while validating the field, thrown when the field is injected
+         */
+        private final RuntimeException error;
+
+        private InjectionPoint(final Field field) {
+            this.field = field;
+            this.testcontainer = field.getAnnotation(Testcontainer.class);
+            this.qualifiers = List.copyOf(Stream.of(field.getAnnotations())
+                    .filter(InjectionPlan::isQualifier)
+                    .collect(Collectors.toList()));
+            this.dependencies = new ArrayList<>();
+            final RuntimeException error = checkType(field, field.getType(), testcontainer);
+            this.error = error;
+            this.isStatic = Modifier.isStatic(field.getModifiers());
+            this.eager = isStatic;
+            this.setter = createSetter(field);
+        }
+
+        /**
+         * @return the type of the field
+         */
+        @SuppressWarnings("unchecked")
+        Class<GenericContainer<?>> type() {
+            return (Class<GenericContainer<?>>) field.getType();
+        }
+
+        /**
+         * Throws the error found validating the field, if there was one.
+         */
+        void validate() {
+            if (error != null) {
+                throw error;
+            }
+        }
+
+        /**
+         * Sets the value of the field.
+         *
+         * @param target the instance to set the field on, ignored for static fields
+         * @param value  the value to set
+         *
+         * @throws Throwable if the value cannot be set
+         */
+        void set(final Object target, final Object value) throws Throwable {
+            setter.invokeExact(target, value);
+        }
+
+        private RuntimeException resolveDependencies(final List<InjectionPoint> points) {
+            for (String dependsOn : testcontainer.dependsOn()) {
+                boolean found = false;
+                for (int i = 0; i < points.size(); i++) {
+                    if (isDependency(points.get(i).field, dependsOn)) {
+                        dependencies.add(i);
+                        found = true;
+                    }
+                }
+                if (!found) {
+                    return new IllegalArgumentException(
+                            String.format("Field %s depends on %s which is not a field or qualifier of a container.", field,
+                                    dependsOn));
+                }
+            }
+            return null;
+        }
+
+        private static MethodHandle createSetter(final Field field) {
+            try {
+                // Field marked as accessible when the plan is created, see the getFieldsWithAnnotation() method
+                final MethodHandle setter = MethodHandles.lookup().unreflectSetter(field);
+                if (Modifier.isStatic(field.getModifiers())) {
+                    return MethodHandles.dropArguments(setter, 0, Object.class).asType(SETTER_TYPE);
+                }
+                return setter.asType(SETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                // Final fields cannot have a setter, fall back to reflection to report the failure when set
+                return MethodHandles.insertArguments(REFLECTIVE_SET, 0, field);
+            }
+        }
+    }
+
+    /**
+     * Checks the container created for the annotation can be assigned to the type of the field or parameter.
+     *
+     * @param element       the field or parameter being injected
+     * @param type          the type of the field or parameter
+     * @param testcontainer the annotation on the field or parameter
+     *
+     * @return the error if the container cannot be assigned, otherwise {@code null}
+     */
+    static RuntimeException checkType(final AnnotatedElement element, final Class<?> type,
+            final Testcontainer testcontainer) {
+        final String kind = element instanceof Field ? "Field" : "Parameter";
+        if (isLazy(testcontainer) && !type.isInterface()) {
+            return new IllegalArgumentException(String.format(
+                    "%s %s is lazy, but is declared as %s which is not an interface. A lazy container is injected as a proxy, "
+                            + "so must be declared as an interface implemented by %s, such as ContainerState.",
+                    kind, element, type.getName(), testcontainer.type().getName()));
+        }
+        // If the type is the default GenericContainer, validate the type is a GenericContainer
+        if (testcontainer.type() == GenericContainer.class) {
+            if (!(GenericContainer.class.isAssignableFrom(type))) {
+                return new IllegalArgumentException(
+                        String.format("%s %s is not assignable to %s", kind, element, testcontainer.type()
+                                .getName()));
+            }
+        } else {
+            // An explicit type was defined, make sure we can assign the type to the field
+            if (!(type.isAssignableFrom(testcontainer.type()))) {
+                return new IllegalArgumentException(
+                        String.format("%s %s is not assignable to %s", kind, element, testcontainer.type()
+                                .getName()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param testcontainer the annotation on the field or parameter
+     *
+     * @return {@code true} if the container should be started the first time it is used
+     */
+    static boolean isLazy(final Testcontainer testcontainer) {
+        return testcontainer.value() && testcontainer.lazy();
+    }
+
+    /**
+     * @param annotation an annotation on a field or parameter
+     *
+     * @return {@code true} if the annotation is a {@linkplain ContainerQualifier qualifier} of the container
+     */
+    static boolean isQualifier(final Annotation annotation) {
+        final Class<? extends Annotation> type = annotation.annotationType();
+        if (type.isAnnotationPresent(ContainerQualifier.class)) {
+            return true;
+        }
+        for (Annotation meta : type.getAnnotations()) {
+            if (INJECT_QUALIFIERS.contains(meta.annotationType().getName())) {
+                return true;
+            }
+        }
+        // The annotations of this extension configure the container rather than qualifying it
+        if (type.getPackageName().equals(Testcontainer.class.getPackageName())) {
+            return false;
+        }
+        // Any other annotation has always qualified the container, so keeps doing so
+        if (UNMARKED_QUALIFIERS.add(type)) {
+            LOGGER.warning(String.format("Annotation %s is not marked with @%s, but is treated as a qualifier of the "
+                    + "container. Mark qualifier annotations with @%2$s.", type.getName(),
+                    ContainerQualifier.class.getSimpleName()));
+        }
+        return true;
+    }
+
+    static boolean isDependency(final Field field, final String name) {
+        if (field.getName().equals(name)) {
+            return true;
+        }
+        for (Annotation annotation : field.getAnnotations()) {
+            final Class<? extends Annotation> type = annotation.annotationType();
+            if (isQualifier(annotation) && (type.getSimpleName().equals(name) || type.getName().equals(name))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<Field> getFieldsWithAnnotation(final Class<?> source) {
+        final List<Field> foundFields = new ArrayList<>();
+        Class<?> nextSource = source;
+        while (nextSource != Object.class) {
+            for (Field field : nextSource.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Testcontainer.class)) {
+                    if (!field.trySetAccessible()) {
+                        throw new InaccessibleObjectException(String.format("Could not make field %s accessible", field));
+                    }
+                    foundFields.add(field);
+                }
+            }
+            nextSource = nextSource.getSuperclass();
+        }
+        return List.copyOf(foundFields);
+    }
+
+    private static boolean isAnnotatedWith(final Class<?> clazz, final Class<? extends Annotation> annotation) {
+        if (clazz == null) {
+            return false;
+        }
+        if (clazz.isAnnotationPresent(annotation)) {
+            return true;
+        }
+        for (Class<?> intf : clazz.getInterfaces()) {
+            if (isAnnotatedWith(intf, annotation)) {
+                return true;
+            }
+        }
+        return isAnnotatedWith(clazz.getSuperclass(), annotation);
+    }
+}
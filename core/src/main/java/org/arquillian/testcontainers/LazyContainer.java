@@ -0,0 +1,70 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+
+/**
+ * The handler for a {@linkplain Testcontainer#lazy() lazy} container proxy. The container, and any containers it
+ * depends on, are started the first time a method other than {@link Object#toString()}, {@link Object#equals(Object)}
+ * or {@link Object#hashCode()} is invoked. The {@link ContainerStartup} ensures the container is only started once, even
+ * when the proxy is used from several threads.
+ */
+final class LazyContainer implements InvocationHandler {
+
+    private final TestcontainerDescription description;
+
+    private LazyContainer(final TestcontainerDescription description) {
+        this.description = description;
+    }
+
+    /**
+     * Creates a proxy which starts the container the first time it is used.
+     *
+     * @param type        the interface type of the field or parameter being injected
+     * @param description the description of the container
+     *
+     * @return the proxy
+     */
+    static Object proxy(final Class<?> type, final TestcontainerDescription description) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new LazyContainer(description));
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    return "LazyContainer[" + description.instance + "]";
+            }
+        }
+        start(description);
+        try {
+            return method.invoke(description.instance, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void start(final TestcontainerDescription description) {
+        // The dependencies have been validated as acyclic when the test was enriched
+        for (TestcontainerDescription dependency : description.dependencies) {
+            if (dependency.testcontainer.value()) {
+                start(dependency);
+            }
+        }
+        description.startup.start();
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.containers.wait.strategy.WaitStrategy;
+import org.testcontainers.containers.wait.strategy.WaitStrategyTarget;
+
+/**
+ * A wait strategy which is also the log consumer of the container. The raw output of the container is scanned for the
+ * patterns as it arrives, and the container is ready as soon as any of the patterns is found.
+ * <p>
+ * The patterns are matched as UTF-8 bytes with the Knuth-Morris-Pratt algorithm, so the output is never decoded and each
+ * byte is only looked at once per pattern. The state of each match is kept between frames, so a pattern split over
+ * several frames is still found.
+ * </p>
+ * <p>
+ * Once the output ends, the container has stopped. If no pattern was found, waiting for that start fails. Either way, the
+ * matcher is reset so the next start, for example a retried start or a restart of a pooled container, waits again.
+ * </p>
+ */
+class LogPatternWaitStrategy implements WaitStrategy, Consumer<OutputFrame> {
+
+    private final List<String> patterns;
+    private final byte[][] bytes;
+    private final int[][] failures;
+    // The following are guarded by this
+    private final int[] states;
+    private CompletableFuture<String> matched;
+    private volatile Duration timeout;
+
+    /**
+     * Creates a new wait strategy.
+     *
+     * @param patterns the text to wait for, any of which marks the container as ready
+     */
+    LogPatternWaitStrategy(final List<String> patterns) {
+        if (patterns.isEmpty() || patterns.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException(String.format("The text to wait for must not be empty: %s", patterns));
+        }
+        this.patterns = List.copyOf(patterns);
+        this.bytes = new byte[patterns.size()][];
+        this.failures = new int[patterns.size()][];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = patterns.get(i).getBytes(StandardCharsets.UTF_8);
+            failures[i] = failureTable(bytes[i]);
+        }
+        this.states = new int[patterns.size()];
+        this.matched = new CompletableFuture<>();
+        this.timeout = Duration.ofSeconds(60L);
+    }
+
+    @Override
+    public synchronized void accept(final OutputFrame outputFrame) {
+        if (outputFrame.getType() == OutputFrame.OutputType.END) {
+            // Fails the current wait if there was no match, the next start waits on a new future
+            matched.completeExceptionally(
+                    new ContainerLaunchException(String.format("Container output ended before containing any of %s",
+                            patterns)));
+            matched = new CompletableFuture<>();
+            Arrays.fill(states, 0);
+            return;
+        }
+        final byte[] frame = outputFrame.getBytes();
+        if (frame == null || matched.isDone()) {
+            return;
+        }
+        for (byte b : frame) {
+            for (int i = 0; i < bytes.length; i++) {
+                final byte[] pattern = bytes[i];
+                int state = states[i];
+                while (state > 0 && pattern[state] != b) {
+                    state = failures[i][state - 1];
+                }
+                if (pattern[state] == b) {
+                    state++;
+                }
+                if (state == pattern.length) {
+                    matched.complete(patterns.get(i));
+                    return;
+                }
+                states[i] = state;
+            }
+        }
+    }
+
+    @Override
+    public void waitUntilReady(final WaitStrategyTarget waitStrategyTarget) {
+        final CompletableFuture<String> matched;
+        synchronized (this) {
+            matched = this.matched;
+        }
+        try {
+            matched.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new ContainerLaunchException(
+                    String.format("Timed out after %s waiting for the container output to contain any of %s",
+                            timeout, patterns));
+        } catch (ExecutionException e) {
+            throw (ContainerLaunchException) e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContainerLaunchException(
+                    String.format("Interrupted waiting for the container output to contain any of %s", patterns), e);
+        }
+    }
+
+    @Override
+    public WaitStrategy withStartupTimeout(final Duration startupTimeout) {
+        this.timeout = startupTimeout;
+        return this;
+    }
+
+    private static int[] failureTable(final byte[] pattern) {
+        // The length of the longest proper prefix of the pattern which is also a suffix of each prefix of the pattern
+        final int[] result = new int[pattern.length];
+        int length = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (length > 0 && pattern[i] != pattern[length]) {
+                length = result[length - 1];
+            }
+            if (pattern[i] == pattern[length]) {
+                length++;
+            }
+            result[i] = length;
+        }
+        return result;
+    }
+}
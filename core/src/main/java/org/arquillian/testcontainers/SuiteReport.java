@@ -0,0 +1,278 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.arquillian.testcontainers.api.ContainerScope;
+
+/**
+ * A report of the time each test class spent on containers. For each test class, the report shows how long the test
+ * class was blocked waiting for containers to start and stop compared to the rest of the test class, which chain of
+ * dependent containers was the critical path, and how much time starting in parallel or sharing containers would have
+ * saved.
+ * <p>
+ * The report is written to the file defined by the {@value #FILE_PROPERTY} system property once the suite is complete.
+ * If the property is not set, nothing is collected.
+ * </p>
+ */
+class SuiteReport {
+
+    static final String FILE_PROPERTY = "org.arquillian.testcontainers.report.file";
+
+    private static final Logger LOGGER = Logger.getLogger(SuiteReport.class.getName());
+
+    private final Map<String, ClassReport> classes;
+    private final Set<ContainerStartup> counted;
+    private final Set<String> fingerprints;
+
+    SuiteReport() {
+        classes = new LinkedHashMap<>();
+        counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        fingerprints = new HashSet<>();
+    }
+
+    /**
+     * @return {@code true} if a report should be collected
+     */
+    static boolean isEnabled() {
+        final String file = System.getProperty(FILE_PROPERTY);
+        return file != null && !file.isBlank();
+    }
+
+    /**
+     * Records that a test class has started.
+     *
+     * @param testClass the name of the test class
+     * @param nanos     the {@link System#nanoTime()} the test class started
+     */
+    synchronized void classStarted(final String testClass, final long nanos) {
+        classes.computeIfAbsent(testClass, ClassReport::new).start = nanos;
+    }
+
+    /**
+     * Records time the test class was blocked waiting for containers to start.
+     *
+     * @param testClass the name of the test class
+     * @param blocked   the time the test class was blocked
+     */
+    synchronized void startBlocked(final String testClass, final Duration blocked) {
+        final ClassReport report = classes.get(testClass);
+        if (report != null) {
+            report.starting = report.starting.plus(blocked);
+        }
+    }
+
+    /**
+     * Records that a test class has completed.
+     *
+     * @param testClass the name of the test class
+     * @param nanos     the {@link System#nanoTime()} the test class completed
+     * @param stopping  the time the test class was blocked waiting for containers to stop
+     * @param waves     the containers of the test class in the order they were started
+     */
+    synchronized void classCompleted(final String testClass, final long nanos, final Duration stopping,
+            final List<List<TestcontainerDescription>> waves) {
+        final ClassReport report = classes.get(testClass);
+        if (report == null) {
+            return;
+        }
+        report.end = nanos;
+        report.completed = true;
+        report.stopping = stopping;
+        report.parallel = Boolean.getBoolean(ContainerStarter.PARALLEL_PROPERTY);
+        try {
+            recordContainers(report, waves);
+        } catch (RuntimeException e) {
+            // The report is informational only and must never fail the teardown of the test class
+            LOGGER.log(Level.WARNING,
+                    String.format("Failed to record the containers of test class %s for the container time report", testClass),
+                    e);
+        }
+    }
+
+    private void recordContainers(final ClassReport report, final List<List<TestcontainerDescription>> waves) {
+        // The time each container finishes if every container starts as soon as its dependencies have started
+        final Map<TestcontainerDescription, Duration> finish = new HashMap<>();
+        final Map<TestcontainerDescription, TestcontainerDescription> previous = new HashMap<>();
+        final Set<String> classFingerprints = new HashSet<>();
+        TestcontainerDescription last = null;
+        for (List<TestcontainerDescription> wave : waves) {
+            for (TestcontainerDescription description : wave) {
+                final Duration duration = startedIn(description);
+                if (duration == null) {
+                    finish.put(description, Duration.ZERO);
+                    continue;
+                }
+                report.containers++;
+                report.startTotal = report.startTotal.plus(duration);
+                final String fingerprint = description.testcontainer.scope() == ContainerScope.CLASS ? fingerprint(description)
+                        : null;
+                if (fingerprint != null) {
+                    if (fingerprints.contains(fingerprint)) {
+                        // An earlier test class started a container with the same configuration which could have been shared
+                        report.sharingSaving = report.sharingSaving.plus(duration);
+                    }
+                    classFingerprints.add(fingerprint);
+                }
+                Duration begin = Duration.ZERO;
+                for (TestcontainerDescription dependency : description.dependencies) {
+                    final Duration dependencyFinish = finish.getOrDefault(dependency, Duration.ZERO);
+                    if (dependencyFinish.compareTo(begin) > 0) {
+                        begin = dependencyFinish;
+                        previous.put(description, dependency);
+                    }
+                }
+                final Duration end = begin.plus(duration);
+                finish.put(description, end);
+                if (last == null || end.compareTo(finish.get(last)) > 0) {
+                    last = description;
+                }
+            }
+        }
+        fingerprints.addAll(classFingerprints);
+        if (last != null) {
+            report.criticalPathTime = finish.get(last);
+            final List<String> path = new ArrayList<>();
+            for (TestcontainerDescription current = last; current != null; current = previous.get(current)) {
+                path.add(0, current.name());
+            }
+            report.criticalPath = path;
+        }
+    }
+
+    /**
+     * Renders the report as text.
+     *
+     * @return the report
+     */
+    synchronized String render() {
+        final StringBuilder result = new StringBuilder("Container time report").append(System.lineSeparator());
+        Duration total = Duration.ZERO;
+        Duration blocked = Duration.ZERO;
+        Duration parallelSaving = Duration.ZERO;
+        Duration sharingSaving = Duration.ZERO;
+        for (ClassReport report : classes.values()) {
+            final Duration classTotal = report.total();
+            final Duration classBlocked = report.starting.plus(report.stopping);
+            total = total.plus(classTotal);
+            blocked = blocked.plus(classBlocked);
+            parallelSaving = parallelSaving.plus(report.parallelSaving());
+            sharingSaving = sharingSaving.plus(report.sharingSaving);
+
+            result.append(System.lineSeparator())
+                    .append(report.testClass)
+                    .append(System.lineSeparator())
+                    .append(String.format(Locale.ROOT,
+                            "  total %s, blocked on container start %s, blocked on container stop %s, tests %s%n",
+                            format(classTotal), format(report.starting), format(report.stopping),
+                            format(positive(classTotal.minus(classBlocked)))));
+            if (report.containers > 0) {
+                result.append(String.format(Locale.ROOT, "  %d containers started taking %s, critical path %s (%s)%n",
+                        report.containers, format(report.startTotal), String.join(" -> ", report.criticalPath),
+                        format(report.criticalPathTime)));
+            }
+            if (!report.parallelSaving().isZero()) {
+                result.append(String.format(Locale.ROOT, "  starting containers in parallel would save up to %s%n",
+                        format(report.parallelSaving())));
+            }
+            if (!report.sharingSaving.isZero()) {
+                result.append(String.format(Locale.ROOT, "  sharing containers with earlier test classes would save %s%n",
+                        format(report.sharingSaving)));
+            }
+        }
+        result.append(System.lineSeparator())
+                .append(String.format(Locale.ROOT,
+                        "Suite: %d test classes, total %s, blocked on containers %s, parallel start could save %s, "
+                                + "sharing could save %s%n",
+                        classes.size(), format(total), format(blocked), format(parallelSaving), format(sharingSaving)));
+        return result.toString();
+    }
+
+    /**
+     * Writes the report to the file defined by the {@value #FILE_PROPERTY} system property.
+     */
+    void write() {
+        final Path path = Paths.get(System.getProperty(FILE_PROPERTY));
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.writeString(path, render(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to write the container time report to %s", path), e);
+        }
+    }
+
+    private Duration startedIn(final TestcontainerDescription description) {
+        // A container shared with other test classes only took time to start in the first test class using it. A container
+        // which failed to start has a duration, but was never started.
+        final Duration duration = description.startup.duration();
+        if (duration == null || description.startup.isFailed() || !counted.add(description.startup)) {
+            return null;
+        }
+        return duration;
+    }
+
+    private static String fingerprint(final TestcontainerDescription description) {
+        // Only an already resolved image is used, as resolving the image could pull it while the test class is torn down
+        return ContainerFingerprint.resolvedImageName(description.instance) == null ? null
+                : ContainerFingerprint.of(description.instance);
+    }
+
+    private static Duration positive(final Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+
+    private static String format(final Duration duration) {
+        return String.format(Locale.ROOT, "%.3f s", duration.toNanos() / 1_000_000_000.0);
+    }
+
+    private static class ClassReport {
+        final String testClass;
+        long start;
+        long end;
+        boolean completed;
+        boolean parallel;
+        int containers;
+        Duration starting = Duration.ZERO;
+        Duration stopping = Duration.ZERO;
+        Duration startTotal = Duration.ZERO;
+        Duration criticalPathTime = Duration.ZERO;
+        Duration sharingSaving = Duration.ZERO;
+        List<String> criticalPath = List.of();
+
+        private ClassReport(final String testClass) {
+            this.testClass = testClass;
+        }
+
+        Duration total() {
+            return completed ? Duration.ofNanos(end - start) : Duration.ZERO;
+        }
+
+        Duration parallelSaving() {
+            // Starting in parallel, the containers take at least as long as the critical path
+            return parallel ? Duration.ZERO : positive(startTotal.minus(criticalPathTime));
+        }
+    }
+}
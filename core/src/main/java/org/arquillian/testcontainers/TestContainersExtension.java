@@ -4,6 +4,7 @@
  */
 package org.arquillian.testcontainers;
 
+import org.arquillian.testcontainers.api.ContainerLifecycleListener;
 import org.jboss.arquillian.core.spi.LoadableExtension;
 import org.jboss.arquillian.test.spi.TestEnricher;
 
@@ -12,6 +13,7 @@ class TestContainersExtension implements LoadableExtension {
     public void register(ExtensionBuilder builder) {
         builder
                 .observer(TestContainersObserver.class)
-                .service(TestEnricher.class, ContainerInjectionTestEnricher.class);
+                .service(TestEnricher.class, ContainerInjectionTestEnricher.class)
+                .service(ContainerLifecycleListener.class, ContainerTimingWriter.class);
     }
 }
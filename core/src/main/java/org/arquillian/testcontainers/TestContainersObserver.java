@@ -0,0 +1,345 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import org.arquillian.testcontainers.api.ContainerLifecycleListener;
+import org.arquillian.testcontainers.api.ContainerScope;
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.jboss.arquillian.container.spi.ContainerRegistry;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.core.api.InstanceProducer;
+import org.jboss.arquillian.core.api.annotation.Inject;
+import org.jboss.arquillian.core.api.annotation.Observes;
+import org.jboss.arquillian.core.spi.EventContext;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.jboss.arquillian.test.spi.TestResult;
+import org.jboss.arquillian.test.spi.annotation.ClassScoped;
+import org.jboss.arquillian.test.spi.annotation.SuiteScoped;
+import org.jboss.arquillian.test.spi.event.enrichment.AfterEnrichment;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+import org.jboss.arquillian.test.spi.event.suite.Test;
+
+@SuppressWarnings("unused")
+class TestContainersObserver {
+
+    private static final String NO_DOCKER_MSG = "No Docker/podman environment is available.";
+
+    @Inject
+    @ClassScoped
+    private InstanceProducer<TestcontainerRegistry> containerRegistry;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<ContainerPool> containerPool;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<ContainerMetrics> containerMetrics;
+
+    @Inject
+    @SuiteScoped
+    private InstanceProducer<SuiteReport> suiteReport;
+
+    @Inject
+    private Instance<ContainerRegistry> registry;
+
+    @Inject
+    private Instance<ServiceLoader> serviceLoader;
+
+    @Inject
+    private Instance<TestClass> currentClass;
+
+    @Inject
+    private Instance<TestResult> testResult;
+
+    private final ContainerStarter starter = new ContainerStarter();
+    private final ContainerStopper stopper = new ContainerStopper();
+    private final ContainerPrewarmer prewarmer = new ContainerPrewarmer();
+    private final ImagePrePuller prePuller = new ImagePrePuller();
+
+    /**
+     * Pulls the images for the test classes defined in the {@value ImagePrePuller#CLASSES_PROPERTY} system property, and
+     * the images defined in the {@value ImagePrePuller#IMAGES_PROPERTY} system property, before any containers are
+     * started, if a container environment is available.
+     *
+     * @param beforeSuite the before suite event
+     */
+    public void pullImages(@Observes(precedence = 10) BeforeSuite beforeSuite) {
+        final Map<String, Future<String>> images = prePuller.images(ImagePrePuller.testClassNames(),
+                Thread.currentThread().getContextClassLoader());
+        if (!images.isEmpty() && isDockerAvailable()) {
+            final ContainerMetrics metrics = metrics();
+            prePuller.pull(images)
+                    .forEach((image, duration) -> metrics
+                            .record(new ContainerTiming(null, null, image, ContainerTiming.Phase.PULL, duration, false)));
+        }
+    }
+
+    /**
+     * Starts the containers for the test classes defined in the {@value ContainerPrewarmer#PREWARM_PROPERTY} system
+     * property in the background, if a container environment is available.
+     *
+     * @param beforeSuite the before suite event
+     */
+    public void prewarmContainers(@Observes BeforeSuite beforeSuite) {
+        final List<String> classNames = ContainerPrewarmer.testClassNames();
+        if (!classNames.isEmpty() && isDockerAvailable()) {
+            prewarmer.prewarm(pool(), classNames, Thread.currentThread().getContextClassLoader());
+        }
+    }
+
+    /**
+     * This first checks if the {@link TestcontainersRequired} annotation is present on the test class failing if necessary. It
+     * then creates the {@link TestcontainerRegistry} and stores it in a {@link ClassScoped} instance.
+     *
+     * @param beforeClass the before class event
+     *
+     * @throws Throwable if an error occurs
+     */
+    public void createContainer(@Observes(precedence = 500) BeforeClass beforeClass) throws Throwable {
+        final TestClass javaClass = beforeClass.getTestClass();
+        final SuiteReport report = report();
+        if (report != null) {
+            report.classStarted(javaClass.getName(), System.nanoTime());
+        }
+        final TestcontainersRequired dockerRequired = javaClass.getAnnotation(TestcontainersRequired.class);
+        if (dockerRequired != null) {
+            if (!isDockerAvailable()) {
+                var throwable = dockerRequired.value();
+                final var overrideClass = System.getProperty("org.arquillian.testcontainers.docker.required.exception");
+                if (overrideClass != null && !overrideClass.isBlank()) {
+                    Class<?> override = Class.forName(overrideClass);
+                    if (Throwable.class.isAssignableFrom(override)) {
+                        throwable = (Class<? extends Throwable>) override;
+                    }
+                }
+                throw createException(throwable);
+            }
+        }
+        final TestcontainerRegistry instances = new TestcontainerRegistry(pool());
+        containerRegistry.set(instances);
+    }
+
+    /**
+     * Injects and starts the containers for the static fields of the test class, so they are available to class level
+     * setup such as {@code @BeforeAll} methods. Static fields which depend on instance fields are injected when the
+     * test instance is enriched instead.
+     *
+     * @param beforeClass the before class event
+     */
+    public void injectStaticContainers(@Observes(precedence = 400) BeforeClass beforeClass) {
+        final TestcontainerRegistry registry = containerRegistry.get();
+        if (registry != null
+                && ContainerInjectionTestEnricher.injectStatic(registry, beforeClass.getTestClass().getJavaClass())) {
+            start(registry, beforeClass.getTestClass().getName());
+        }
+    }
+
+    /**
+     * Stops all containers, even ones not managed via Arquillian, after the test is complete. If the test class failed,
+     * the output captured for the containers is written first, see {@link ContainerLogs}. Containers shared between
+     * test classes and {@linkplain ContainerReuse reused} containers are not stopped, and pooled containers are
+     * returned to the {@link ContainerPool}. See the {@link ContainerStopper} for how the containers are stopped.
+     *
+     * @param afterClass the after class event
+     */
+    public void stopContainer(@Observes AfterClass afterClass) {
+        TestcontainerRegistry registry = containerRegistry.get();
+        if (registry != null) {
+            List<List<TestcontainerDescription>> waves;
+            try {
+                waves = registry.startOrder();
+            } catch (IllegalArgumentException e) {
+                // A cyclic dependency has already been reported during enrichment, stop everything at once
+                final List<TestcontainerDescription> all = new ArrayList<>();
+                registry.forEach(all::add);
+                waves = List.of(all);
+            }
+            final List<List<TestcontainerDescription>> toStop = new ArrayList<>();
+            for (List<TestcontainerDescription> wave : waves) {
+                toStop.add(wave.stream()
+                        .filter(description -> description.poolKey == null && !ContainerReuse.isReused(description))
+                        .collect(Collectors.toList()));
+            }
+            final String testClass = afterClass.getTestClass().getName();
+            if (registry.isFailed()) {
+                ContainerLogs.writeCaptured(testClass, registry);
+            }
+            final ContainerMetrics metrics = metrics();
+            metrics.recordStarts(testClass, registry);
+            final long start = System.nanoTime();
+            try {
+                stopper.stop(toStop, metrics, testClass);
+            } finally {
+                final long end = System.nanoTime();
+                final SuiteReport report = suiteReport.get();
+                if (report != null) {
+                    // The report fingerprints the containers, so must be completed before pooled containers are reset
+                    report.classCompleted(testClass, end, Duration.ofNanos(end - start), waves);
+                }
+                // Shared, pooled and reused containers outlive the test class, so must not carry its output to the next
+                ContainerLogs.clearCaptured(registry);
+                final ContainerPool pool = containerPool.get();
+                for (TestcontainerDescription description : registry) {
+                    if (description.testcontainer.scope() == ContainerScope.POOLED) {
+                        pool.release(description);
+                    } else if (description.poolKey == null && ContainerReuse.isReused(description)) {
+                        // Left running for the next run, but no longer managed by this test class
+                        description.startup.stopped();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops the containers shared between test classes and the idle pooled containers, then waits for any containers
+     * being stopped in the background to complete before the suite ends. Finally, the
+     * {@link ContainerLifecycleListener listeners} are notified the suite is complete and the {@link SuiteReport} is
+     * written, if enabled.
+     *
+     * @param afterSuite the after suite event
+     */
+    public void stopSharedContainers(@Observes AfterSuite afterSuite) {
+        final ContainerPool pool = containerPool.get();
+        final ContainerMetrics metrics = metrics();
+        try {
+            if (pool != null) {
+                final List<TestcontainerDescription> drained = pool.drain();
+                // Pre-warmed containers which no test class used have not been recorded yet
+                metrics.recordStarts(null, drained);
+                stopper.stop(List.of(drained.stream()
+                        .filter(description -> !ContainerReuse.isReused(description))
+                        .collect(Collectors.toList())), metrics, null);
+                drained.forEach(description -> description.startup.stopped());
+            }
+        } finally {
+            ContainerStopper.awaitDetached();
+            metrics.suiteCompleted();
+            final SuiteReport report = suiteReport.get();
+            if (report != null) {
+                report.write();
+            }
+        }
+    }
+
+    /**
+     * Starts all containers after enrichment is done. This happens after the {@link ContainerInjectionTestEnricher} is
+     * invoked. See the {@link ContainerStarter} for how the containers are started.
+     *
+     * @param event the after enrichment event
+     */
+    public void startContainer(@Observes(precedence = 500) final AfterEnrichment event) {
+        TestcontainerRegistry registry = containerRegistry.get();
+        if (registry != null) {
+            // Look for the servers to start on fields only
+            start(registry, currentClass.get() == null ? null : currentClass.get().getName());
+        }
+    }
+
+    /**
+     * Marks the test class as failed if the test fails, so the {@linkplain ContainerLogs captured output} of the containers
+     * is written once the test class is complete.
+     *
+     * @param context the context of the test event
+     */
+    public void checkTestResult(@Observes final EventContext<Test> context) {
+        context.proceed();
+        final TestcontainerRegistry registry = containerRegistry.get();
+        final TestResult result = testResult.get();
+        if (registry != null && result != null && result.getStatus() == TestResult.Status.FAILED) {
+            registry.markFailed();
+        }
+    }
+
+    private void start(final TestcontainerRegistry registry, final String testClass) {
+        final long start = System.nanoTime();
+        try {
+            starter.start(registry.startOrder());
+        } catch (RuntimeException e) {
+            registry.markFailed();
+            throw e;
+        } finally {
+            final SuiteReport report = suiteReport.get();
+            if (report != null) {
+                report.startBlocked(testClass, Duration.ofNanos(System.nanoTime() - start));
+            }
+        }
+    }
+
+    private SuiteReport report() {
+        SuiteReport report = suiteReport.get();
+        if (report == null && SuiteReport.isEnabled()) {
+            report = new SuiteReport();
+            suiteReport.set(report);
+        }
+        return report;
+    }
+
+    private ContainerMetrics metrics() {
+        ContainerMetrics metrics = containerMetrics.get();
+        if (metrics == null) {
+            metrics = new ContainerMetrics(serviceLoader.get().all(ContainerLifecycleListener.class));
+            containerMetrics.set(metrics);
+        }
+        return metrics;
+    }
+
+    private ContainerPool pool() {
+        ContainerPool pool = containerPool.get();
+        if (pool == null) {
+            pool = new ContainerPool();
+            containerPool.set(pool);
+        }
+        return pool;
+    }
+
+    private boolean isDockerAvailable() {
+        final DockerProbe probe = DockerProbe.instance();
+        final boolean available = probe.isAvailable();
+        probe.record(metrics());
+        return available;
+    }
+
+    private static Throwable createException(final Class<? extends Throwable> value) {
+        // First the common path, using the AssertionError(Object) c'tor
+        if (value == AssertionError.class) {
+            return new AssertionError(NO_DOCKER_MSG);
+        }
+        // Next try the String.class constructor if there is one
+        try {
+            final Constructor<? extends Throwable> constructor = value.getConstructor(String.class);
+            return constructor.newInstance(NO_DOCKER_MSG);
+        } catch (NoSuchMethodException ignore) {
+            try {
+                final Constructor<? extends Throwable> constructor = value.getConstructor();
+                return constructor.newInstance();
+            } catch (NoSuchMethodException unused) {
+                throw new AssertionError(String.format(
+                        NO_DOCKER_MSG + " (No String or no-arg constructor found for desired failure type %s)", value));
+            } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+                throw new AssertionError(
+                        String.format(NO_DOCKER_MSG + " (Failed to create exception for desired failure type %s)", value), e);
+            }
+        } catch (InvocationTargetException | InstantiationException | IllegalAccessException e) {
+            throw new AssertionError(
+                    String.format(NO_DOCKER_MSG + " (Failed to create exception for desired failure type %s)", value), e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * A holder for information about the Testcontainer being injected into a field.
+ *
+ * @author <a href="mailto:jperkins@redhat.com">James R. Perkins</a>
+ */
+class TestcontainerDescription {
+
+    /**
+     * The annotation that was on the field
+     */
+    final Testcontainer testcontainer;
+    /**
+     * The instance of the container created
+     */
+    final GenericContainer<?> instance;
+    /**
+     * The field, or method parameter, the container was first created for
+     */
+    final AnnotatedElement field;
+    /**
+     * The containers which must be started before this container
+     */
+    final Set<TestcontainerDescription> dependencies;
+    /**
+     * The key of the container in the {@link ContainerPool}, or {@code null} if the container belongs to the test class.
+     * Containers from the pool are not stopped after the test class.
+     */
+    final String poolKey;
+    /**
+     * Starts the container once, shared with any other description of the same container
+     */
+    final ContainerStartup startup;
+    /**
+     * The time it took to create the container, or {@code null} if the container was not created for this description.
+     * Cleared once recorded to the {@link ContainerMetrics}.
+     */
+    volatile Duration created;
+
+    TestcontainerDescription(final Testcontainer testcontainer, final GenericContainer<?> instance,
+            final AnnotatedElement field) {
+        this(testcontainer, instance, field, null, new ContainerStartup(instance, field));
+    }
+
+    TestcontainerDescription(final Testcontainer testcontainer, final GenericContainer<?> instance,
+            final AnnotatedElement field, final String poolKey, final ContainerStartup startup) {
+        this.testcontainer = testcontainer;
+        this.instance = instance;
+        this.field = field;
+        this.dependencies = ConcurrentHashMap.newKeySet();
+        this.poolKey = poolKey;
+        this.startup = startup;
+    }
+
+    /**
+     * @return the name of the field or method parameter the container was first created for
+     */
+    String name() {
+        return field instanceof Field ? ((Field) field).getName() : ((Parameter) field).getName();
+    }
+
+    @Override
+    public String toString() {
+        return "TestcontainerDescription[field=" + field + ", instance=" + instance + "]";
+    }
+}
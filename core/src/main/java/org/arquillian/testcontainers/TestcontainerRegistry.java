@@ -0,0 +1,422 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.arquillian.testcontainers.api.ContainerScope;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * A registry to store the testcontainer descriptions.
+ * <p>
+ * Lookups are indexed. The containers assignable to a type are computed the first time the type is looked up and kept
+ * up to date as containers are added. Qualifiers are indexed by the annotation type, from the qualifiers of the field a
+ * container was created for and the annotations present on the container type.
+ * </p>
+ * <p>
+ * The registry may be used by several threads at once, for example when test classes or methods are enriched in
+ * parallel. Creating a container is atomic for each type and set of qualifiers: the first thread to look up a missing
+ * container creates it, and other threads looking up the same type and qualifiers wait for it and receive the same
+ * container. If creating the container fails, the waiting threads fail with the same exception and a later lookup tries
+ * again.
+ * </p>
+ */
+class TestcontainerRegistry implements Iterable<TestcontainerDescription> {
+    private final List<TestcontainerDescription> containers;
+    private final Map<Class<?>, List<TestcontainerDescription>> byType;
+    private final Map<Class<? extends Annotation>, Set<TestcontainerDescription>> byQualifier;
+    private final Map<GenericContainer<?>, TestcontainerDescription> byInstance;
+    private final Map<InjectionPlan, GenericContainer<?>[]> injected;
+    private final Map<Map.Entry<Class<?>, List<Annotation>>, CompletableFuture<GenericContainer<?>>> creating;
+    private final ContainerPool pool;
+    private volatile boolean failed;
+
+    TestcontainerRegistry() {
+        this(new ContainerPool());
+    }
+
+    TestcontainerRegistry(final ContainerPool pool) {
+        containers = new CopyOnWriteArrayList<>();
+        byType = new ConcurrentHashMap<>();
+        byQualifier = new ConcurrentHashMap<>();
+        byInstance = new ConcurrentHashMap<>();
+        injected = new ConcurrentHashMap<>();
+        creating = new ConcurrentHashMap<>();
+        this.pool = pool;
+    }
+
+    /**
+     * Lookup the container in the test container instances. If more than one container is found for the type or
+     * qualifier, an {@link IllegalArgumentException} is thrown. If no container is found, one is created. Suite scoped
+     * and pooled containers are taken from the {@link ContainerPool} if a matching container is available. A matching
+     * pre-warmed container is used for a container of any scope.
+     * <p>
+     * If another thread is creating a container for the same type and qualifiers, this waits for that container rather
+     * than creating another one.
+     * </p>
+     *
+     * @param type          the type to lookup
+     * @param testcontainer the test container annotation
+     * @param qualifiers    any qualifying annotations
+     * @param field         the field, or method parameter, the container is being injected into
+     *
+     * @return the generic type
+     */
+    GenericContainer<?> lookupOrCreate(final Class<GenericContainer<?>> type, final Testcontainer testcontainer,
+            final List<Annotation> qualifiers, final AnnotatedElement field) {
+        final GenericContainer<?> found = lookup(type, qualifiers);
+        if (found != null) {
+            return found;
+        }
+        final CompletableFuture<GenericContainer<?>> created = new CompletableFuture<>();
+        final Map.Entry<Class<?>, List<Annotation>> key = Map.entry(type, List.copyOf(qualifiers));
+        final CompletableFuture<GenericContainer<?>> pending = creating.putIfAbsent(key, created);
+        if (pending != null) {
+            return await(pending);
+        }
+        try {
+            // Another thread may have registered the container since the lookup above
+            GenericContainer<?> result = lookup(type, qualifiers);
+            if (result == null) {
+                result = createAndRegister(type, testcontainer, qualifiers, field);
+            }
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            creating.remove(key, created);
+        }
+    }
+
+    private GenericContainer<?> createAndRegister(final Class<GenericContainer<?>> type, final Testcontainer testcontainer,
+            final List<Annotation> qualifiers, final AnnotatedElement field) {
+        final long start = System.nanoTime();
+        final GenericContainer<?> created = create(type, testcontainer);
+        final Duration createTime = Duration.ofNanos(System.nanoTime() - start);
+        TestcontainerDescription description;
+        if (testcontainer.scope() == ContainerScope.SUITE) {
+            final String poolKey = pool.key(created, testcontainer, qualifiers);
+            description = pool.share(poolKey, created, testcontainer, field);
+        } else if (testcontainer.scope() == ContainerScope.POOLED) {
+            final String poolKey = pool.key(created, testcontainer, qualifiers);
+            description = pool.lease(poolKey, created, testcontainer, field);
+        } else if (pool.hasPrewarmed()) {
+            description = pool.claim(pool.key(created, testcontainer, qualifiers));
+        } else {
+            description = null;
+        }
+        if (description == null) {
+            description = new TestcontainerDescription(testcontainer, created, field);
+        } else {
+            // Describe the container for this field, but keep the startup of the pool so it is only started once
+            description = new TestcontainerDescription(testcontainer, description.instance, field,
+                    testcontainer.scope() == ContainerScope.CLASS ? null : description.poolKey, description.startup);
+        }
+        if (description.instance == created) {
+            description.created = createTime;
+            ContainerLogs.configure(description);
+        }
+        register(description, qualifiers);
+        return description.instance;
+    }
+
+    private static GenericContainer<?> await(final CompletableFuture<GenericContainer<?>> pending) {
+        try {
+            return pending.join();
+        } catch (CompletionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Lookup the container in the test container instances. If more than one container is found for the type or
+     * qualifier, an {@link IllegalArgumentException} is thrown.
+     *
+     * @param type       the type to lookup
+     * @param qualifiers any qualifying annotations
+     *
+     * @return the generic type
+     */
+    GenericContainer<?> lookup(final Class<?> type, final List<Annotation> qualifiers) {
+        TestcontainerDescription found = null;
+        for (TestcontainerDescription containerDesc : assignable(type)) {
+            if (isQualified(containerDesc, qualifiers)) {
+                if (found != null) {
+                    throw new IllegalArgumentException(
+                            String.format("Multiple containers found for type %s: %s", type, matching(type, qualifiers)));
+                }
+                found = containerDesc;
+            }
+        }
+        return found == null ? null : found.instance;
+    }
+
+    /**
+     * Returns the containers injected for the plan, indexed by the {@linkplain InjectionPlan#points injection points} of
+     * the plan. An entry is {@code null} if the field has not been injected yet.
+     *
+     * @param plan the injection plan
+     *
+     * @return the injected containers
+     */
+    GenericContainer<?>[] injected(final InjectionPlan plan) {
+        return injected.computeIfAbsent(plan, p -> new GenericContainer<?>[p.points.size()]);
+    }
+
+    /**
+     * Records that the {@code dependent} container must not be started before the {@code dependency} container.
+     *
+     * @param dependent  the container which depends on the other container
+     * @param dependency the container which must be started first
+     */
+    void addDependency(final GenericContainer<?> dependent, final GenericContainer<?> dependency) {
+        describe(dependent).dependencies.add(describe(dependency));
+    }
+
+    /**
+     * Orders the containers by their dependencies. Each entry in the returned list is a group of containers which only
+     * depend on containers in the previous groups, meaning the containers within a group can be started at the same
+     * time.
+     *
+     * @return the groups of containers in the order they should be started
+     *
+     * @throws IllegalArgumentException if there is a cyclic dependency between the containers
+     */
+    List<List<TestcontainerDescription>> startOrder() {
+        return startOrder(new LinkedHashSet<>(containers));
+    }
+
+    /**
+     * Orders the containers passed in, and the containers they depend on, by their dependencies. Other containers in the
+     * registry are not included.
+     *
+     * @param instances the containers to order
+     *
+     * @return the groups of containers in the order they should be started
+     *
+     * @throws IllegalArgumentException if a container is not in the registry or there is a cyclic dependency between the
+     *                                      containers
+     */
+    List<List<TestcontainerDescription>> startOrder(final Collection<? extends GenericContainer<?>> instances) {
+        final Set<TestcontainerDescription> required = new HashSet<>();
+        final Deque<TestcontainerDescription> pending = new ArrayDeque<>();
+        for (GenericContainer<?> instance : instances) {
+            pending.add(describe(instance));
+        }
+        while (!pending.isEmpty()) {
+            final TestcontainerDescription description = pending.poll();
+            if (required.add(description)) {
+                pending.addAll(description.dependencies);
+            }
+        }
+        // Keep the order the containers were registered in
+        final Set<TestcontainerDescription> remaining = new LinkedHashSet<>();
+        for (TestcontainerDescription description : containers) {
+            if (required.contains(description)) {
+                remaining.add(description);
+            }
+        }
+        return startOrder(remaining);
+    }
+
+    private List<List<TestcontainerDescription>> startOrder(final Set<TestcontainerDescription> remaining) {
+        final List<List<TestcontainerDescription>> waves = new ArrayList<>();
+        final Set<TestcontainerDescription> ordered = new HashSet<>();
+        while (!remaining.isEmpty()) {
+            final List<TestcontainerDescription> wave = new ArrayList<>();
+            for (TestcontainerDescription description : remaining) {
+                if (ordered.containsAll(description.dependencies)) {
+                    wave.add(description);
+                }
+            }
+            if (wave.isEmpty()) {
+                throw new IllegalArgumentException(
+                        String.format("Cyclic dependency found between containers: %s", describeCycle(remaining)));
+            }
+            remaining.removeAll(wave);
+            ordered.addAll(wave);
+            waves.add(wave);
+        }
+        return waves;
+    }
+
+    /**
+     * Marks the test class the containers belong to as failed, either because a test failed or a container could not be
+     * started.
+     */
+    void markFailed() {
+        failed = true;
+    }
+
+    /**
+     * @return {@code true} if the test class the containers belong to has failed
+     */
+    boolean isFailed() {
+        return failed;
+    }
+
+    /**
+     * @return an iterator for the container instances
+     */
+    @Override
+    public Iterator<TestcontainerDescription> iterator() {
+        return containers.iterator();
+    }
+
+    private synchronized void register(final TestcontainerDescription description, final List<Annotation> qualifiers) {
+        containers.add(description);
+        byInstance.putIfAbsent(description.instance, description);
+        final Class<?> instanceType = description.instance.getClass();
+        byType.forEach((type, found) -> {
+            if (type.isAssignableFrom(instanceType)) {
+                found.add(description);
+            }
+        });
+        for (Annotation qualifier : qualifiers) {
+            byQualifier.computeIfAbsent(qualifier.annotationType(), k -> ConcurrentHashMap.newKeySet()).add(description);
+        }
+        for (Annotation annotation : instanceType.getAnnotations()) {
+            byQualifier.computeIfAbsent(annotation.annotationType(), k -> ConcurrentHashMap.newKeySet()).add(description);
+        }
+    }
+
+    private List<TestcontainerDescription> assignable(final Class<?> type) {
+        final List<TestcontainerDescription> found = byType.get(type);
+        if (found != null) {
+            return found;
+        }
+        // Synchronized with register() so a container added while the index is computed is not missed
+        synchronized (this) {
+            return byType.computeIfAbsent(type, t -> {
+                final List<TestcontainerDescription> result = new CopyOnWriteArrayList<>();
+                for (TestcontainerDescription containerDesc : containers) {
+                    if (t.isAssignableFrom(containerDesc.instance.getClass())) {
+                        result.add(containerDesc);
+                    }
+                }
+                return result;
+            });
+        }
+    }
+
+    private boolean isQualified(final TestcontainerDescription description, final List<Annotation> qualifiers) {
+        if (qualifiers.isEmpty()) {
+            return true;
+        }
+        for (Annotation qualifier : qualifiers) {
+            final Set<TestcontainerDescription> qualified = byQualifier.get(qualifier.annotationType());
+            if (qualified != null && qualified.contains(description)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<TestcontainerDescription> matching(final Class<?> type, final List<Annotation> qualifiers) {
+        final List<TestcontainerDescription> result = new ArrayList<>();
+        for (TestcontainerDescription containerDesc : assignable(type)) {
+            if (isQualified(containerDesc, qualifiers)) {
+                result.add(containerDesc);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the description of a container in the registry.
+     *
+     * @param instance the container
+     *
+     * @return the description the container was registered with
+     *
+     * @throws IllegalArgumentException if the container is not in the registry
+     */
+    TestcontainerDescription describe(final GenericContainer<?> instance) {
+        final TestcontainerDescription description = byInstance.get(instance);
+        if (description == null) {
+            throw new IllegalArgumentException(String.format("Container %s is not registered", instance));
+        }
+        return description;
+    }
+
+    private static String describeCycle(final Set<TestcontainerDescription> remaining) {
+        // Every remaining description depends on another remaining description, so following the dependencies must
+        // eventually lead back to a description already visited.
+        final List<TestcontainerDescription> path = new ArrayList<>();
+        TestcontainerDescription current = remaining.iterator().next();
+        while (!path.contains(current)) {
+            path.add(current);
+            current = current.dependencies.stream()
+                    .filter(remaining::contains)
+                    .findFirst()
+                    .orElseThrow();
+        }
+        final StringBuilder result = new StringBuilder();
+        for (TestcontainerDescription description : path.subList(path.indexOf(current), path.size())) {
+            result.append(description.name()).append(" -> ");
+        }
+        return result.append(current.name()).toString();
+    }
+
+    /**
+     * Creates a new, not yet started, container.
+     *
+     * @param type          the type of the field
+     * @param testcontainer the test container annotation
+     *
+     * @return the new container
+     */
+    static GenericContainer<?> create(final Class<GenericContainer<?>> type, final Testcontainer testcontainer) {
+        try {
+            final Constructor<? extends GenericContainer<?>> constructor = getConstructor(type, testcontainer);
+            final GenericContainer<?> container = constructor.newInstance();
+            ContainerReuse.configure(container, testcontainer);
+            return container;
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalArgumentException(String.format("Could create container %s", type.getName()), e);
+        }
+    }
+
+    private static Constructor<? extends GenericContainer<?>> getConstructor(final Class<GenericContainer<?>> type,
+            final Testcontainer testcontainer) throws NoSuchMethodException {
+        @SuppressWarnings("unchecked")
+        Class<? extends GenericContainer<?>> constructType = (testcontainer.type() == GenericContainer.class) ? type
+                : (Class<? extends GenericContainer<?>>) testcontainer.type();
+        if (constructType.isInterface()) {
+            throw new IllegalArgumentException(
+                    String.format("Type %s is an interface and cannot be created.", constructType));
+        }
+        return constructType.getConstructor();
+    }
+}
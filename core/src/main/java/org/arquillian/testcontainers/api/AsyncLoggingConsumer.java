@@ -0,0 +1,366 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Logger;
+
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * A {@link LoggingConsumer} which logs the container lines on a background thread. The thread the container output is
+ * read on only adds each frame to a bounded ring buffer. A single background thread takes the frames from the buffer in
+ * batches, decodes and logs them. This keeps a container which writes a lot of output from being slowed down by the
+ * logging.
+ * <p>
+ * If the buffer is full, the {@link OverflowPolicy} decides what happens to the next frame. The number of frames which
+ * were not logged is available from {@link #dropped()} and is logged as a warning.
+ * </p>
+ * <p>
+ * The background thread stops once the output of the container ends, which happens when the container is stopped, after
+ * logging the remaining frames. If more output arrives, for example as the container is started again, a new background
+ * thread is started. The consumer may also be {@linkplain #close() closed}, after which frames are logged on the calling
+ * thread.
+ * </p>
+ *
+ * <pre>
+ * public class CustomTestContainer extends GenericContainer&lt;CustomTestContainer&gt; {
+ *     public CustomTestContainer() {
+ *         super("custom/image");
+ *         withLogConsumer(AsyncLoggingConsumer.of(CustomTestContainer.class));
+ *     }
+ * }
+ * </pre>
+ */
+public class AsyncLoggingConsumer extends LoggingConsumer implements AutoCloseable {
+
+    /**
+     * What happens to a frame when the buffer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest frame in the buffer is dropped to make room for the new frame.
+         */
+        DROP_OLDEST,
+        /**
+         * The thread reading the container output waits until there is room in the buffer. No frames are dropped, but the
+         * container may be slowed down.
+         */
+        BLOCK,
+        /**
+         * Only one in every {@linkplain #withSampleRate(int) sample rate} frames is kept, dropping the oldest frame in the
+         * buffer to make room for it. The other frames are dropped. This keeps a sample of the output from a burst, rather
+         * than only its end.
+         */
+        SAMPLE,
+    }
+
+    /**
+     * The default number of frames the buffer holds.
+     */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    private static final int BATCH_SIZE = 256;
+    private static final long CLOSE_TIMEOUT = TimeUnit.SECONDS.toMillis(10L);
+
+    private final String name;
+    private final OverflowPolicy policy;
+    private final OutputFrame[] buffer;
+    private final ReentrantLock lock;
+    private final Condition notEmpty;
+    private final Condition notFull;
+    private final LongAdder dropped;
+    private volatile int sampleRate;
+    // Only accessed by the background thread
+    private long reported;
+    // The following are guarded by the lock
+    private int head;
+    private int size;
+    private int inFlight;
+    private long overflowed;
+    private boolean closed;
+    private boolean ended;
+    private Thread drainer;
+
+    /**
+     * Creates a new consumer with a logger with the name of {@link Class#getName()}, which drops the oldest frame when the
+     * buffer is full.
+     *
+     * @param type the type to extract the name from
+     */
+    public AsyncLoggingConsumer(final Class<?> type) {
+        this(type.getName());
+    }
+
+    /**
+     * Creates a new consumer with a logger with the name passed in, which drops the oldest frame when the buffer is full.
+     *
+     * @param name the name for the logger
+     */
+    public AsyncLoggingConsumer(final String name) {
+        this(name, DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a new consumer with a logger with the name passed in.
+     *
+     * @param name     the name for the logger
+     * @param capacity the maximum number of frames waiting to be logged
+     * @param policy   what happens to a frame when the buffer is full
+     */
+    public AsyncLoggingConsumer(final String name, final int capacity, final OverflowPolicy policy) {
+        super(name);
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("The capacity must be at least 1, but was %d", capacity));
+        }
+        if (policy == null) {
+            throw new IllegalArgumentException("The overflow policy is required");
+        }
+        this.name = name;
+        this.policy = policy;
+        this.buffer = new OutputFrame[capacity];
+        this.lock = new ReentrantLock();
+        this.notEmpty = lock.newCondition();
+        this.notFull = lock.newCondition();
+        this.dropped = new LongAdder();
+        this.sampleRate = 10;
+    }
+
+    /**
+     * Creates a new consumer with a logger with the name of {@link Class#getName()}, which drops the oldest frame when the
+     * buffer is full.
+     *
+     * @param type the type to extract the name from
+     */
+    public static AsyncLoggingConsumer of(final Class<?> type) {
+        return new AsyncLoggingConsumer(type);
+    }
+
+    /**
+     * Creates a new consumer with a logger with the name passed in, which drops the oldest frame when the buffer is full.
+     *
+     * @param name the name for the logger
+     */
+    public static AsyncLoggingConsumer of(final String name) {
+        return new AsyncLoggingConsumer(name);
+    }
+
+    /**
+     * Sets how many frames arriving while the buffer is full are dropped for each frame kept when the policy is
+     * {@link OverflowPolicy#SAMPLE}. The default is {@code 10}.
+     *
+     * @param sampleRate one frame in this many is kept
+     *
+     * @return this consumer
+     */
+    public AsyncLoggingConsumer withSampleRate(final int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException(String.format("The sample rate must be at least 1, but was %d", sampleRate));
+        }
+        this.sampleRate = sampleRate;
+        return this;
+    }
+
+    /**
+     * @return the number of frames which were not logged because the buffer was full
+     */
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void accept(final OutputFrame outputFrame) {
+        if (outputFrame.getType() == OutputFrame.OutputType.END) {
+            lock.lock();
+            try {
+                // Once the remaining frames are logged, the background thread stops
+                ended = true;
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        lock.lock();
+        try {
+            if (!closed && size == buffer.length && !makeRoom()) {
+                return;
+            }
+            if (!closed) {
+                ended = false;
+                if (drainer == null) {
+                    drainer = new Thread(this::drain, "arquillian-testcontainers-log-" + name);
+                    drainer.setDaemon(true);
+                    drainer.start();
+                }
+                buffer[(head + size) % buffer.length] = outputFrame;
+                size++;
+                notEmpty.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        // Once closed, frames still arriving are logged on the calling thread
+        super.accept(outputFrame);
+    }
+
+    /**
+     * Waits until all the frames added so far have been logged.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void flush() throws InterruptedException {
+        lock.lock();
+        try {
+            while ((size > 0 || inFlight > 0) && drainer != null && drainer.isAlive()) {
+                notFull.await(100L, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Logs the remaining frames and stops the background thread. Frames added after the consumer is closed are logged on
+     * the calling thread.
+     */
+    @Override
+    public void close() {
+        final Thread drainer;
+        lock.lock();
+        try {
+            closed = true;
+            drainer = this.drainer;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        if (drainer != null && drainer != Thread.currentThread()) {
+            try {
+                drainer.join(CLOSE_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Makes room for a frame in the full buffer based on the policy. Must be invoked while holding the lock.
+     *
+     * @return {@code true} if the frame should be added, {@code false} if it was dropped
+     */
+    private boolean makeRoom() {
+        switch (policy) {
+            case BLOCK:
+                while (size == buffer.length && !closed) {
+                    try {
+                        notFull.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        dropped.increment();
+                        return false;
+                    }
+                }
+                return true;
+            case SAMPLE:
+                if (overflowed++ % sampleRate != 0) {
+                    dropped.increment();
+                    return false;
+                }
+                // The sampled frame replaces the oldest frame
+                return dropOldest();
+            case DROP_OLDEST:
+                return dropOldest();
+            default:
+                throw new IllegalArgumentException("Unexpected overflow policy " + policy);
+        }
+    }
+
+    /**
+     * Drops the oldest frame in the buffer. Must be invoked while holding the lock.
+     *
+     * @return {@code true} as the new frame should be added
+     */
+    private boolean dropOldest() {
+        buffer[head] = null;
+        head = (head + 1) % buffer.length;
+        size--;
+        dropped.increment();
+        return true;
+    }
+
+    private void drain() {
+        final OutputFrame[] batch = new OutputFrame[Math.min(BATCH_SIZE, buffer.length)];
+        while (true) {
+            int count;
+            lock.lock();
+            try {
+                while (size == 0 && !closed && !ended) {
+                    try {
+                        notEmpty.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (size == 0) {
+                    reported = reportDropped(reported);
+                    // Any further output starts a new background thread
+                    drainer = null;
+                    return;
+                }
+                count = Math.min(size, batch.length);
+                for (int i = 0; i < count; i++) {
+                    batch[i] = buffer[head];
+                    buffer[head] = null;
+                    head = (head + 1) % buffer.length;
+                }
+                size -= count;
+                inFlight = count;
+                if (size == 0) {
+                    overflowed = 0L;
+                }
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            for (int i = 0; i < count; i++) {
+                log(batch[i]);
+                batch[i] = null;
+            }
+            reported = reportDropped(reported);
+            lock.lock();
+            try {
+                inFlight = 0;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private long reportDropped(final long reported) {
+        final long total = dropped.sum();
+        if (total > reported) {
+            Logger.getLogger(name)
+                    .warning(String.format("Dropped %d output frames as the log buffer was full.", total - reported));
+        }
+        return total;
+    }
+
+    private void log(final OutputFrame outputFrame) {
+        try {
+            super.accept(outputFrame);
+        } catch (RuntimeException ignore) {
+            // A failing handler should not stop the remaining frames from being logged
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Initializes the state of a started container for a {@link Snapshot @Snapshot}, for example running schema migrations
+ * and seed scripts. Once initialized, the container is committed to a snapshot image, and later runs start from the
+ * snapshot without initializing the container again.
+ * <p>
+ * The snapshot is rebuilt when the configuration of the container, the initializer type, the {@linkplain #version()
+ * version} or the content of the {@linkplain #inputs() inputs} change.
+ * </p>
+ * <p>
+ * Implementations <strong>must</strong> have a public no-arg constructor.
+ * </p>
+ *
+ * @param <T> the type of the container
+ */
+public interface ContainerInitializer<T extends GenericContainer<?>> {
+
+    /**
+     * Initializes the state of the started container. If an exception is thrown, starting the container fails and no
+     * snapshot is created.
+     *
+     * @param container the started container
+     *
+     * @throws Exception if the container could not be initialized
+     */
+    void initialize(T container) throws Exception;
+
+    /**
+     * The files the initializer reads, such as migration scripts. A directory includes every file within it. The content
+     * of the files is part of the fingerprint of the snapshot.
+     * <p>
+     * By default, there are no inputs.
+     * </p>
+     *
+     * @return the files the initializer reads
+     */
+    default Collection<Path> inputs() {
+        return List.of();
+    }
+
+    /**
+     * A version for anything else the initializer depends on which is not a file. Changing the version rebuilds the
+     * snapshot.
+     * <p>
+     * By default, the version is empty.
+     * </p>
+     *
+     * @return the version of the initializer
+     */
+    default String version() {
+        return "";
+    }
+}
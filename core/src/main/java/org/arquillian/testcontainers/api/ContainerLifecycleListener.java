@@ -0,0 +1,38 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+/**
+ * Notified of the time each phase of a container's lifecycle took. Listeners are registered as Arquillian services in a
+ * {@code LoadableExtension}.
+ *
+ * <pre>
+ * public class MetricsExtension implements LoadableExtension {
+ *     &#064;Override
+ *     public void register(final ExtensionBuilder builder) {
+ *         builder.service(ContainerLifecycleListener.class, MetricsListener.class);
+ *     }
+ * }
+ * </pre>
+ * <p>
+ * Listeners may be invoked from several threads at once and <strong>must</strong> be thread safe.
+ * </p>
+ */
+public interface ContainerLifecycleListener {
+
+    /**
+     * Invoked once a phase of a container's lifecycle has completed.
+     *
+     * @param timing the timing of the phase
+     */
+    void completed(ContainerTiming timing);
+
+    /**
+     * Invoked once the suite is complete and all the containers have been stopped.
+     */
+    default void suiteCompleted() {
+    }
+}
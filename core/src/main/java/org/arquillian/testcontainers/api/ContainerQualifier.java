@@ -0,0 +1,35 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an annotation as a qualifier of containers. A {@link Testcontainer @Testcontainer} field or parameter annotated
+ * with a qualifier gets a different container than one of the same type without the qualifier, and the qualifier can be
+ * named in {@link Testcontainer#dependsOn()}.
+ * <p>
+ * Annotations marked with {@code jakarta.inject.Qualifier} or {@code javax.inject.Qualifier} are qualifiers as well. The
+ * annotations of this extension, such as {@link WaitForLog @WaitForLog}, are never qualifiers. Other annotations which
+ * are not marked are still treated as qualifiers, as they always have been, but a warning is logged for each of them.
+ * </p>
+ *
+ * <pre>
+ * &#064;ContainerQualifier
+ * &#064;Retention(RetentionPolicy.RUNTIME)
+ * &#064;Target({ ElementType.FIELD, ElementType.PARAMETER })
+ * public @interface Primary {
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.ANNOTATION_TYPE)
+public @interface ContainerQualifier {
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Resets the state of a {@linkplain ContainerScope#POOLED pooled} container once a test class is done with it, so the
+ * container can be handed to the next test class instead of being restarted. For example truncating tables, flushing a
+ * cache or clearing mock expectations.
+ * <p>
+ * Implementations <strong>must</strong> have a public no-arg constructor.
+ * </p>
+ *
+ * <pre>
+ * &#064;Testcontainer(scope = ContainerScope.POOLED, reset = TruncateTables.class)
+ * private PostgreSQLContainer db;
+ * </pre>
+ *
+ * @param <T> the type of the container
+ */
+public interface ContainerReset<T extends GenericContainer<?>> {
+
+    /**
+     * Resets the state of the container. If an exception is thrown the container is stopped rather than being returned
+     * to the pool.
+     *
+     * @param container the container to reset
+     *
+     * @throws Exception if the container could not be reset
+     */
+    void reset(T container) throws Exception;
+
+    /**
+     * Checks whether the container is healthy after it has been reset. If the container is not healthy, it is stopped
+     * rather than being returned to the pool.
+     * <p>
+     * By default, this checks whether the container is still running.
+     * </p>
+     *
+     * @param container the container to check
+     *
+     * @return {@code true} if the container can be handed to the next test class
+     */
+    default boolean isHealthy(final T container) {
+        return container.isRunning();
+    }
+}
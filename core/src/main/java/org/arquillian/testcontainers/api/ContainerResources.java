@@ -0,0 +1,48 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the resources a container uses. If a host budget is set with the
+ * {@code org.arquillian.testcontainers.admission.cpus} or {@code org.arquillian.testcontainers.admission.memory} system
+ * properties, a container is only started once the containers already starting and running leave enough of the budget
+ * for it. The CPUs are held while the container starts, and the memory until it is stopped. Other containers wait in
+ * the order they were requested, across all test classes in the JVM.
+ * <p>
+ * The annotation may be placed on the {@link Testcontainer @Testcontainer} field or parameter, or on the container type.
+ * The field or parameter takes precedence. A container without the annotation uses one CPU and no memory.
+ * </p>
+ *
+ * <pre>
+ * &#064;Testcontainer
+ * &#064;ContainerResources(cpus = 2, memory = 2048)
+ * private ElasticsearchContainer elasticsearch;
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.TYPE })
+public @interface ContainerResources {
+
+    /**
+     * The number of CPUs the container uses while it starts.
+     *
+     * @return the number of CPUs
+     */
+    double cpus() default 1.0;
+
+    /**
+     * The memory in megabytes the container uses while it runs.
+     *
+     * @return the memory in megabytes
+     */
+    long memory() default 0L;
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+/**
+ * Defines how long a container injected into a {@link Testcontainer @Testcontainer} field lives.
+ */
+public enum ContainerScope {
+
+    /**
+     * The container is created for the test class and stopped after the test class is complete.
+     */
+    CLASS,
+
+    /**
+     * The container is shared with each test class in the suite which injects the same type, with the same qualifiers
+     * and configuration. The container is stopped after the suite is complete.
+     */
+    SUITE,
+
+    /**
+     * The container is leased to a single test class at a time. Once the test class is complete, the container is
+     * {@linkplain ContainerReset reset} and handed to the next test class which injects the same type, with the same
+     * qualifiers and configuration. The container is only stopped if the reset or health check fails, or once the suite
+     * is complete.
+     */
+    POOLED
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * The time a single phase of a container's lifecycle took.
+ *
+ * @see ContainerLifecycleListener
+ */
+public final class ContainerTiming {
+
+    /**
+     * A phase of the lifecycle of a container.
+     */
+    public enum Phase {
+        /**
+         * The container environment was probed to check whether it is available. Recorded once for each probe rather
+         * than for a container, so the test class, name and image are {@code null}. The phase failed if no container
+         * environment is available.
+         */
+        PROBE,
+        /**
+         * The container instance was constructed.
+         */
+        CREATE,
+        /**
+         * The image of the container was pulled before the suite started.
+         */
+        PULL,
+        /**
+         * The start of the container waited for the resources it declared to be available. Only recorded if a host
+         * budget is set, see {@link ContainerResources}.
+         */
+        QUEUE,
+        /**
+         * The container was started, including waiting for it to be ready.
+         */
+        START,
+        /**
+         * The container was stopped.
+         */
+        STOP,
+    }
+
+    private final String testClass;
+    private final String name;
+    private final String image;
+    private final Phase phase;
+    private final Duration duration;
+    private final boolean failed;
+
+    /**
+     * Creates a new timing.
+     *
+     * @param testClass the name of the test class, or {@code null} if the phase was not part of a test class
+     * @param name      the name of the field or method parameter, or {@code null} if the phase was not for a field or
+     *                      parameter
+     * @param image     the name of the image, or {@code null} if not known
+     * @param phase     the phase of the lifecycle
+     * @param duration  the time the phase took
+     * @param failed    {@code true} if the phase failed
+     */
+    public ContainerTiming(final String testClass, final String name, final String image, final Phase phase,
+            final Duration duration, final boolean failed) {
+        this.testClass = testClass;
+        this.name = name;
+        this.image = image;
+        this.phase = Objects.requireNonNull(phase, "phase");
+        this.duration = Objects.requireNonNull(duration, "duration");
+        this.failed = failed;
+    }
+
+    /**
+     * @return the name of the test class, or {@code null} if the phase was not part of a test class
+     */
+    public String getTestClass() {
+        return testClass;
+    }
+
+    /**
+     * @return the name of the field or method parameter, or {@code null} if the phase was not for a field or parameter
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the name of the image, or {@code null} if not known
+     */
+    public String getImage() {
+        return image;
+    }
+
+    /**
+     * @return the phase of the lifecycle
+     */
+    public Phase getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return the time the phase took
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * @return {@code true} if the phase failed
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "ContainerTiming[testClass=" + testClass + ", name=" + name + ", image=" + image + ", phase=" + phase
+                + ", duration=" + duration + ", failed=" + failed + "]";
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.GZIPOutputStream;
+
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * A consumer for containers which writes the raw output of the container to a file. The output is not decoded. It is
+ * collected in a buffer and written to the file with a {@link FileChannel} once the buffer is full, or the consumer is
+ * {@linkplain #flush() flushed} or closed.
+ * <p>
+ * If a maximum size is set, the file is rotated once the output written to it would exceed the size. The current file
+ * is renamed with a {@code .1} suffix, the previous {@code .1} file to {@code .2} and so on, keeping at most the
+ * configured number of rotated files. If gzip is enabled, each file is compressed and has a {@code .gz} suffix.
+ * </p>
+ * <p>
+ * The file is closed when the container's output ends, in general when the container is stopped. If the container
+ * writes more output afterwards, the file is opened again and appended to.
+ * </p>
+ */
+public class FileLogConsumer implements Consumer<OutputFrame>, AutoCloseable {
+
+    /**
+     * The size of the buffer the output is collected in before it is written.
+     */
+    public static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Logger LOGGER = Logger.getLogger(FileLogConsumer.class.getName());
+
+    private final Path file;
+    private final long maxSize;
+    private final int maxFiles;
+    private final boolean gzip;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+    private OutputStream gzipOut;
+    private long size;
+    private boolean failed;
+
+    /**
+     * Creates a new consumer which writes to the file without rotating it.
+     *
+     * @param file the file to write the output to
+     */
+    public FileLogConsumer(final Path file) {
+        this(file, 0L, 0, false);
+    }
+
+    /**
+     * Creates a new consumer which writes to the file.
+     *
+     * @param file     the file to write the output to, without the {@code .gz} suffix
+     * @param maxSize  the size in bytes of the output written to a file before it is rotated, {@code 0} or less to never
+     *                     rotate the file
+     * @param maxFiles the number of rotated files to keep, ignored if {@code maxSize} is {@code 0} or less as the file is
+     *                     then never rotated
+     * @param gzip     {@code true} to compress the files with gzip
+     */
+    public FileLogConsumer(final Path file, final long maxSize, final int maxFiles, final boolean gzip) {
+        if (maxFiles < 0) {
+            throw new IllegalArgumentException(
+                    String.format("The number of files to keep must not be negative, but was %d", maxFiles));
+        }
+        this.file = file;
+        this.maxSize = maxSize;
+        this.maxFiles = maxFiles;
+        this.gzip = gzip;
+        // Compressed output needs an array to pass to the deflater, otherwise avoid copying to native memory on write
+        this.buffer = gzip ? ByteBuffer.allocate(BUFFER_SIZE) : ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new consumer which writes to the file without rotating it.
+     *
+     * @param file the file to write the output to
+     */
+    public static FileLogConsumer of(final Path file) {
+        return new FileLogConsumer(file);
+    }
+
+    /**
+     * Creates a new consumer which writes to the file without rotating it.
+     *
+     * @param file the file to write the output to
+     */
+    public static FileLogConsumer of(final String file) {
+        return new FileLogConsumer(Paths.get(file));
+    }
+
+    /**
+     * Returns the path of the file being written to, or the file at the given index of the rotated files.
+     *
+     * @param index {@code 0} for the file being written to, otherwise the index of the rotated file
+     *
+     * @return the path of the file
+     */
+    public Path file(final int index) {
+        final String suffix = (index == 0 ? "" : "." + index) + (gzip ? ".gz" : "");
+        return file.resolveSibling(file.getFileName() + suffix);
+    }
+
+    @Override
+    public synchronized void accept(final OutputFrame outputFrame) {
+        if (outputFrame.getType() == OutputFrame.OutputType.END) {
+            close();
+            return;
+        }
+        final byte[] bytes = outputFrame.getBytes();
+        if (failed || bytes == null || bytes.length == 0) {
+            return;
+        }
+        try {
+            if (channel == null) {
+                open();
+            } else if (maxSize > 0L && size > 0L && size + bytes.length > maxSize) {
+                rotate();
+            }
+            if (bytes.length > buffer.remaining()) {
+                writeBuffer();
+            }
+            if (bytes.length > buffer.capacity()) {
+                write(ByteBuffer.wrap(bytes));
+            } else {
+                buffer.put(bytes);
+            }
+            size += bytes.length;
+        } catch (IOException e) {
+            // Stop writing rather than failing on every frame from the container
+            failed = true;
+            LOGGER.log(Level.WARNING, String.format("Failed to write container output to %s", file(0)), e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Writes the collected output to the file.
+     *
+     * @throws IOException if writing fails
+     */
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            writeBuffer();
+            if (gzipOut != null) {
+                gzipOut.flush();
+            }
+        }
+    }
+
+    /**
+     * Writes the collected output and closes the file.
+     */
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            writeBuffer();
+            if (gzipOut != null) {
+                gzipOut.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, String.format("Failed to write container output to %s", file(0)), e);
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void open() throws IOException {
+        final Path path = file(0);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        // A gzip file can be appended to as a new member, but the size is then the uncompressed size of this member only
+        size = gzip ? 0L : channel.size();
+        if (gzip) {
+            gzipOut = new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+        }
+    }
+
+    private void rotate() throws IOException {
+        close();
+        if (maxFiles == 0) {
+            Files.deleteIfExists(file(0));
+        } else {
+            Files.deleteIfExists(file(maxFiles));
+            for (int i = maxFiles - 1; i >= 0; i--) {
+                if (Files.exists(file(i))) {
+                    Files.move(file(i), file(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+        open();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        try {
+            write(buffer);
+        } finally {
+            buffer.clear();
+        }
+    }
+
+    private void write(final ByteBuffer source) throws IOException {
+        if (gzipOut != null) {
+            gzipOut.write(source.array(), source.arrayOffset() + source.position(), source.remaining());
+            return;
+        }
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+
+    private void closeQuietly() {
+        buffer.clear();
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Writing has already failed and been reported, so the file is abandoned whether or not it closes
+                LOGGER.log(Level.FINE, String.format("Failed to close %s", file(0)), e);
+            }
+        }
+        channel = null;
+        gzipOut = null;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers.api;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * A consumer for containers which keeps the most recent output of the container in memory. The output is kept as raw
+ * bytes in a fixed size ring buffer, so nothing is decoded or logged unless the output is read. Once the buffer is full,
+ * the oldest output is overwritten.
+ * <p>
+ * If a test class fails, the output captured for its containers is written to the log, or to the directory defined by
+ * the {@code org.arquillian.testcontainers.logs.dir} system property. The output of containers for test classes which
+ * pass is never read.
+ * </p>
+ *
+ * <pre>
+ * public class CustomTestContainer extends GenericContainer&lt;CustomTestContainer&gt; {
+ *     public CustomTestContainer() {
+ *         super("custom/image");
+ *         withLogConsumer(new LogCapture());
+ *     }
+ * }
+ * </pre>
+ */
+public class LogCapture implements Consumer<OutputFrame> {
+
+    /**
+     * The default number of bytes of output kept.
+     */
+    public static final int DEFAULT_CAPACITY = 256 * 1024;
+
+    private final byte[] buffer;
+    private int position;
+    private long written;
+
+    /**
+     * Creates a new capture which keeps the last {@value #DEFAULT_CAPACITY} bytes of output.
+     */
+    public LogCapture() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new capture which keeps the last bytes of output.
+     *
+     * @param capacity the number of bytes of output to keep
+     */
+    public LogCapture(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("The capacity must be at least 1, but was %d", capacity));
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    @Override
+    public void accept(final OutputFrame outputFrame) {
+        final byte[] bytes = outputFrame.getBytes();
+        if (bytes == null || bytes.length == 0) {
+            return;
+        }
+        synchronized (this) {
+            // Only the end of a frame larger than the buffer can be kept
+            int offset = Math.max(0, bytes.length - buffer.length);
+            int remaining = bytes.length - offset;
+            while (remaining > 0) {
+                final int count = Math.min(remaining, buffer.length - position);
+                System.arraycopy(bytes, offset, buffer, position, count);
+                position = (position + count) % buffer.length;
+                offset += count;
+                remaining -= count;
+            }
+            written += bytes.length;
+        }
+    }
+
+    /**
+     * @return the number of bytes of output which have been overwritten
+     */
+    public synchronized long overwritten() {
+        return Math.max(0L, written - buffer.length);
+    }
+
+    /**
+     * Returns the captured output. If older output has been overwritten, the output starts at the first complete line.
+     *
+     * @return a copy of the captured output
+     */
+    public synchronized byte[] toByteArray() {
+        if (written <= buffer.length) {
+            final byte[] result = new byte[position];
+            System.arraycopy(buffer, 0, result, 0, position);
+            return result;
+        }
+        // The buffer is full, the oldest byte is at the current position
+        int start = 0;
+        while (start < buffer.length && buffer[(position + start) % buffer.length] != '\n') {
+            start++;
+        }
+        start = start < buffer.length ? start + 1 : 0;
+        final byte[] result = new byte[buffer.length - start];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = buffer[(position + start + i) % buffer.length];
+        }
+        return result;
+    }
+
+    /**
+     * Writes the captured output.
+     *
+     * @param out the stream to write the output to
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(toByteArray());
+    }
+
+    /**
+     * Discards the captured output.
+     */
+    public synchronized void clear() {
+        position = 0;
+        written = 0L;
+    }
+
+    /**
+     * Returns the captured output decoded as UTF-8.
+     *
+     * @return the captured output
+     */
+    @Override
+    public String toString() {
+        return new String(toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Writes the output of the container created for a {@link Testcontainer @Testcontainer} field or parameter to a file,
+ * using a {@link FileLogConsumer}. The file is written to the directory defined by the
+ * {@code org.arquillian.testcontainers.logs.dir} system property, or {@code target/container-logs} if the property is
+ * not set.
+ * <p>
+ * The consumer is only added to a container created for this field or parameter. A container shared with, or
+ * pre-warmed for, another field does not write its output to the file.
+ * </p>
+ *
+ * <pre>
+ * &#064;Testcontainer
+ * &#064;LogFile(maxSize = 100 * 1024 * 1024, gzip = true)
+ * private KafkaContainer kafka;
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+public @interface LogFile {
+
+    /**
+     * The name of the file to write the output to. If left empty, the name of the class declaring the field, followed by
+     * the name of the field and {@code .log}, is used.
+     *
+     * @return the name of the file
+     */
+    String value() default "";
+
+    /**
+     * The size in bytes of the output written to a file before it is rotated. A value of {@code 0} or less never rotates
+     * the file.
+     *
+     * @return the maximum size of a file
+     */
+    long maxSize() default 0L;
+
+    /**
+     * The number of rotated files to keep, not including the file being written to. Ignored unless a
+     * {@linkplain #maxSize() maximum size} is set.
+     *
+     * @return the number of rotated files to keep
+     */
+    int maxFiles() default 5;
+
+    /**
+     * Indicates whether the files should be compressed with gzip.
+     *
+     * @return {@code true} to compress the files
+     */
+    boolean gzip() default false;
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Snapshots the initialized state of the container created for a {@link Testcontainer @Testcontainer} field or
+ * parameter. The first time the container is started, the {@link ContainerInitializer} is invoked once the container has
+ * started, and the container is then committed to a local image tagged with a fingerprint of the container
+ * configuration and the initializer inputs. Later starts with the same fingerprint start from that image and skip the
+ * initializer.
+ * <p>
+ * Only the container's file system is committed. Data written to a volume declared by the image, for example the data
+ * directory of many database images, is not part of the snapshot. Configure the container to write its state outside
+ * any volume. For example, the PostgreSQL image declares its data directory as a volume, so the data directory is moved:
+ * </p>
+ *
+ * <pre>
+ * &#064;Testcontainer
+ * &#064;Snapshot(MigrateSchema.class)
+ * private SnapshotPostgreSQLContainer db;
+ *
+ * public class SnapshotPostgreSQLContainer extends PostgreSQLContainer {
+ *     public SnapshotPostgreSQLContainer() {
+ *         super("postgres:17");
+ *         withEnv("PGDATA", "/var/lib/postgresql-snapshot");
+ *     }
+ * }
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+public @interface Snapshot {
+
+    /**
+     * The initializer which sets up the state of the container to snapshot.
+     *
+     * @return the initializer type
+     */
+    @SuppressWarnings("rawtypes")
+    Class<? extends ContainerInitializer> value();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Used to annotate a field which <strong>must</strong> be an instance of a {@link GenericContainer}. A
+ * {@link TestcontainersRequired} annotation must be present on the type to use Testcontainer injection.
+ * <p>
+ * Test method parameters may also be annotated. The container for a parameter is only created and started when a
+ * method which declares the parameter is invoked.
+ * </p>
+ *
+ * <pre>
+ * &#064;RunWith(Arquillian.class)
+ * &#064;TestcontainersRequired
+ * &#064;RunAsClient
+ * public class ContainerTest {
+ *
+ *     &#064;Testcontainer
+ *     private CustomTestContainer container;
+ *
+ *     &#064;Deployment
+ *     public static JavaArchive createDeployment() {
+ *         return ShrinkWrap.create(JavaArchive.class)
+ *                 .addAsManifestResource(EmptyAsset.INSTANCE, "beans.xml");
+ *     }
+ *
+ *     &#064;Test
+ *     public void testContainerInjected() {
+ *         Assertions.assertNotNull(container, "Expected the container to be injected.");
+ *         Assertions.assertTrue(container.isRunning(), "Expected the container to be running");
+ *     }
+ * }
+ * </pre>
+ */
+@Inherited
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+public @interface Testcontainer {
+
+    /**
+     * Indicates whether Arquillian should manage the starting of the Testcontainer. With a value of {@code false},
+     * Arquillian will not start the server. It will still attempt to stop the server.
+     *
+     * @return {@code true} to have Arquillian manage the lifecycle of the Testcontainer
+     */
+    boolean value() default true;
+
+    /**
+     * The type used to create the value for the field. The type must have a no-arg constructor.
+     * <p>
+     * If left as the default value, {@link GenericContainer}, the type to construct is derived from the
+     * {@linkplain Field#getType() field}.
+     * </p>
+     *
+     * @return the type to construct
+     */
+    Class<? extends GenericContainer> type() default GenericContainer.class;
+
+    /**
+     * The containers this container depends on. Each value is either the name of another field annotated with
+     * {@link Testcontainer @Testcontainer}, or the simple or fully qualified name of a qualifier annotation present on
+     * another such field.
+     * <p>
+     * Dependencies are always started before the containers which depend on them. Containers which do not depend on
+     * each other may be started at the same time. A cyclic dependency results in an error when the test is enriched.
+     * </p>
+     *
+     * @return the names of the fields or qualifiers this container depends on
+     */
+    String[] dependsOn() default {};
+
+    /**
+     * The scope of the container. By default, a container is created for each test class. A
+     * {@linkplain ContainerScope#SUITE suite} scoped container is shared with other test classes which inject the same
+     * type with the same qualifiers and configuration, and is stopped once the suite is complete. A
+     * {@linkplain ContainerScope#POOLED pooled} container is {@linkplain #reset() reset} and handed to the next test class
+     * once a test class is complete.
+     *
+     * @return the scope of the container
+     */
+    ContainerScope scope() default ContainerScope.CLASS;
+
+    /**
+     * The type used to reset a {@linkplain ContainerScope#POOLED pooled} container before it is handed to the next test
+     * class. The type must have a no-arg constructor.
+     * <p>
+     * If left as the default value, {@link ContainerReset}, the container is not reset. It is only checked that the
+     * container is still running.
+     * </p>
+     * <p>
+     * The container must be an instance of the type the reset is declared for, otherwise injecting the container fails.
+     * </p>
+     *
+     * @return the type used to reset the container
+     */
+    // The raw type is required so ContainerReset.class can be the default, the type argument is checked once leased
+    @SuppressWarnings("rawtypes")
+    Class<? extends ContainerReset> reset() default ContainerReset.class;
+
+    /**
+     * Indicates whether the container should only be started the first time it is used, rather than before the test
+     * runs. Ignored if {@link #value()} is {@code false}.
+     * <p>
+     * Lazy containers are only supported for fields and parameters declared as an interface implemented by the
+     * container, for example {@link org.testcontainers.containers.ContainerState ContainerState}, with the
+     * {@link #type()} set to the container type to create. A proxy implementing only that interface is injected, which
+     * starts the container, and any containers it depends on, the first time a method is invoked on it. The
+     * {@link Object#toString()}, {@link Object#equals(Object)} and {@link Object#hashCode()} methods do not start the
+     * container.
+     * </p>
+     * <p>
+     * Methods which are only declared by the container class, such as {@code getJdbcUrl()} of a JDBC container, cannot
+     * be invoked through the proxy. The proxy is also not the container instance, so it is neither the same as, nor equal
+     * to, the container injected into a non-lazy field. If the container class must be used, do not make it lazy.
+     * </p>
+     * <p>
+     * A lazy container which another container depends on is started before the container depending on it.
+     * </p>
+     *
+     * @return {@code true} to start the container the first time it is used
+     */
+    boolean lazy() default false;
+
+    /**
+     * Indicates whether the container should be reused across test runs. A reused container is labeled with a
+     * fingerprint of its configuration. A later run attaches to an already running container with the same
+     * fingerprint rather than starting a new one. Reused containers are not stopped once the tests are complete.
+     * <p>
+     * Reuse can also be enabled for every container with the {@code org.arquillian.testcontainers.reuse} system
+     * property. Reuse requires {@code testcontainers.reuse.enable=true} to be set in the
+     * {@code ~/.testcontainers.properties} file, otherwise containers are started and stopped as usual.
+     * </p>
+     *
+     * @return {@code true} to reuse the container across test runs
+     */
+    boolean reuse() default false;
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.arquillian.testcontainers.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the container created for a {@link Testcontainer @Testcontainer} field or parameter as started as soon as its
+ * output contains one of the values. This replaces the wait strategy of the container, so the container is ready the
+ * moment the text is written rather than when a polling wait strategy next checks it.
+ * <p>
+ * The values are matched as plain text, not as regular expressions, and may be split over several frames of output. If
+ * the output of the container ends before a value is found, for example because the container exited, starting the
+ * container fails.
+ * </p>
+ * <p>
+ * The wait strategy is only replaced for a container created for this field or parameter. A container shared with, or
+ * pre-warmed for, another field keeps its own wait strategy.
+ * </p>
+ * <p>
+ * Containers which do not use their wait strategy are not affected. For example, the Testcontainers JDBC containers
+ * override {@code waitUntilContainerStarted()} to wait for a database connection instead.
+ * </p>
+ *
+ * <pre>
+ * &#064;Testcontainer
+ * &#064;WaitForLog({ "WFLYSRV0025", "started in" })
+ * private WildFlyContainer wildfly;
+ * </pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.FIELD, ElementType.PARAMETER })
+public @interface WaitForLog {
+
+    /**
+     * The text to wait for. The container is started once any of the values is found in its output.
+     *
+     * @return the text to wait for
+     */
+    String[] value();
+
+    /**
+     * The maximum number of seconds to wait for the text.
+     *
+     * @return the number of seconds to wait
+     */
+    long timeout() default 60L;
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.AdmissionScheduler.Cost;
+import org.arquillian.testcontainers.FakeDocker.FakeDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AdmissionScheduler} without requiring a container engine.
+ */
+public class AdmissionSchedulerTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdownNow();
+        FakeDocker.reset();
+    }
+
+    @Test
+    public void admitsWithinBudget() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(2.0, 0L);
+        final Cost cost = new Cost(1.0, 0L);
+        scheduler.admit(cost);
+        scheduler.admit(cost);
+        final Future<Duration> third = executor.submit(() -> scheduler.admit(cost));
+        awaitWaiting(scheduler, 1);
+        Assertions.assertFalse(third.isDone());
+
+        release(scheduler, cost);
+        Assertions.assertTrue(third.get(10L, TimeUnit.SECONDS).compareTo(Duration.ZERO) > 0);
+        Assertions.assertEquals(1, scheduler.maxWaiting());
+        Assertions.assertEquals(0, scheduler.waiting());
+    }
+
+    @Test
+    public void memoryBudget() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(0.0, 1024L);
+        final Cost large = new Cost(8.0, 768L);
+        // The CPUs are not limited, but the memory is
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> {
+            scheduler.admit(large);
+            scheduler.admit(new Cost(8.0, 256L));
+        });
+        final Future<Duration> next = executor.submit(() -> scheduler.admit(large));
+        awaitWaiting(scheduler, 1);
+        release(scheduler, large);
+        next.get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void memoryHeldUntilStopped() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(0.0, 1024L);
+        final ContainerStartup running = new ContainerStartup(new FakeDatabase(), new Cost(1.0, 768L), scheduler, null);
+        running.start();
+        // The first container has started, but still uses its memory while it runs
+        final ContainerStartup next = new ContainerStartup(new FakeDatabase(), new Cost(1.0, 512L), scheduler, null);
+        final CompletableFuture<Void> started = next.startAsync(executor);
+        awaitWaiting(scheduler, 1);
+        Assertions.assertFalse(started.isDone());
+
+        running.stopped();
+        started.get(10L, TimeUnit.SECONDS);
+        Assertions.assertEquals(0, scheduler.waiting());
+        // Releasing more than once must not return the memory twice
+        running.stopped();
+        final Future<Duration> third = executor.submit(() -> scheduler.admit(new Cost(1.0, 768L)));
+        awaitWaiting(scheduler, 1);
+        Assertions.assertFalse(third.isDone());
+        next.stopped();
+        third.get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void cpusReturnedOnceStarted() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(1.0, 0L);
+        final ContainerStartup running = new ContainerStartup(new FakeDatabase(), Cost.DEFAULT, scheduler, null);
+        running.start();
+        // The CPUs are only held while starting, so a running container does not block the next start
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L),
+                () -> new ContainerStartup(new FakeDatabase(), Cost.DEFAULT, scheduler, null).start());
+    }
+
+    @Test
+    public void failedStartReleasesBudget() throws Exception {
+        FakeDocker.current().failEvery = 1;
+        final AdmissionScheduler scheduler = new AdmissionScheduler(1.0, 1024L);
+        final ContainerStartup failed = new ContainerStartup(new FakeDatabase(), new Cost(1.0, 1024L), scheduler, null);
+        Assertions.assertThrows(RuntimeException.class, failed::start);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> scheduler.admit(new Cost(1.0, 1024L)));
+    }
+
+    @Test
+    public void admittedOverBudgetAfterTimeout() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(0.0, 1024L, Duration.ofMillis(50L));
+        scheduler.admit(new Cost(1.0, 768L));
+        // The container holding the memory is never stopped, for example as it belongs to the same test class
+        final Duration waited = Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L),
+                () -> scheduler.admit(new Cost(1.0, 512L)));
+        Assertions.assertTrue(waited.compareTo(Duration.ofMillis(50L)) >= 0, waited::toString);
+    }
+
+    @Test
+    public void oversizedAdmittedAlone() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(2.0, 0L);
+        final Cost oversized = new Cost(4.0, 0L);
+        // Nothing else is starting, so the start must not wait forever
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> scheduler.admit(oversized));
+        final Future<Duration> next = executor.submit(() -> scheduler.admit(Cost.DEFAULT));
+        awaitWaiting(scheduler, 1);
+        release(scheduler, oversized);
+        next.get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void admitsInOrder() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(2.0, 0L);
+        final Cost small = new Cost(1.0, 0L);
+        final Cost large = new Cost(2.0, 0L);
+        scheduler.admit(small);
+        final Future<Duration> first = executor.submit(() -> scheduler.admit(large));
+        awaitWaiting(scheduler, 1);
+        // Fits the budget, but must not pass the large start waiting before it
+        final Future<Duration> second = executor.submit(() -> scheduler.admit(small));
+        awaitWaiting(scheduler, 2);
+        Assertions.assertFalse(second.isDone());
+
+        release(scheduler, small);
+        first.get(10L, TimeUnit.SECONDS);
+        awaitWaiting(scheduler, 1);
+        Assertions.assertFalse(second.isDone());
+        release(scheduler, large);
+        second.get(10L, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void interruptedWhileWaiting() throws Exception {
+        final AdmissionScheduler scheduler = new AdmissionScheduler(1.0, 0L);
+        scheduler.admit(Cost.DEFAULT);
+        final Future<Duration> waiting = executor.submit(() -> scheduler.admit(Cost.DEFAULT));
+        awaitWaiting(scheduler, 1);
+        waiting.cancel(true);
+        awaitWaiting(scheduler, 0);
+        // The interrupted start must not hold any of the budget
+        release(scheduler, Cost.DEFAULT);
+        Assertions.assertTimeoutPreemptively(Duration.ofSeconds(10L), () -> scheduler.admit(Cost.DEFAULT));
+    }
+
+    @Test
+    public void schedulesContainerStarts() throws Exception {
+        FakeDocker.current().startLatency = Duration.ofMillis(30L);
+        final AdmissionScheduler scheduler = new AdmissionScheduler(1.0, 0L);
+        final List<ContainerStartup> startups = new ArrayList<>();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final ContainerStartup startup = new ContainerStartup(new FakeDatabase(), Cost.DEFAULT, scheduler, null);
+            startups.add(startup);
+            futures.add(startup.startAsync(executor));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10L, TimeUnit.SECONDS);
+        // Only one container fits the budget, so the containers must have started one at a time
+        Assertions.assertEquals(1, FakeDocker.current().maxStarting.get());
+        for (ContainerStartup startup : startups) {
+            Assertions.assertNotNull(startup.queued());
+        }
+        Assertions.assertEquals(3, FakeDocker.current().running.get());
+    }
+
+    @Test
+    public void notScheduledWithoutBudget() throws Exception {
+        final ContainerStartup startup = new ContainerStartup(new FakeDatabase(), Cost.DEFAULT,
+                new AdmissionScheduler(0.0, 0L), null);
+        startup.start();
+        Assertions.assertNull(startup.queued());
+    }
+
+    private static void release(final AdmissionScheduler scheduler, final Cost cost) {
+        scheduler.started(cost);
+        scheduler.stopped(cost);
+    }
+
+    private static void awaitWaiting(final AdmissionScheduler scheduler, final int expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (scheduler.waiting() != expected) {
+            Assertions.assertTrue(System.nanoTime() < deadline,
+                    () -> String.format("Expected %d starts waiting, but %d are", expected, scheduler.waiting()));
+            TimeUnit.MILLISECONDS.sleep(1L);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.arquillian.testcontainers.api.AsyncLoggingConsumer;
+import org.arquillian.testcontainers.api.AsyncLoggingConsumer.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Tests the {@link AsyncLoggingConsumer} without requiring a container engine.
+ */
+public class AsyncLoggingConsumerTest {
+
+    private static final String LOGGER_NAME = AsyncLoggingConsumerTest.class.getName();
+
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch released = new CountDownLatch(1);
+    private final CountDownLatch firstLogged = new CountDownLatch(1);
+    private final Handler handler = new Handler() {
+        @Override
+        public void publish(final LogRecord record) {
+            if (record.getLevel() == Level.WARNING) {
+                return;
+            }
+            messages.add(record.getMessage());
+            threads.add(Thread.currentThread());
+            firstLogged.countDown();
+            try {
+                // Hold the background thread so the buffer fills up
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @BeforeEach
+    public void addHandler() {
+        final Logger logger = Logger.getLogger(LOGGER_NAME);
+        logger.setUseParentHandlers(false);
+        logger.addHandler(handler);
+    }
+
+    @AfterEach
+    public void removeHandler() {
+        final Logger logger = Logger.getLogger(LOGGER_NAME);
+        logger.removeHandler(handler);
+        logger.setUseParentHandlers(true);
+    }
+
+    @Test
+    public void dropOldest() throws Exception {
+        try (AsyncLoggingConsumer consumer = new AsyncLoggingConsumer(LOGGER_NAME, 4, OverflowPolicy.DROP_OLDEST)) {
+            consumer.accept(frame(0));
+            Assertions.assertTrue(firstLogged.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 10; i++) {
+                consumer.accept(frame(i));
+            }
+            Assertions.assertEquals(6, consumer.dropped());
+            released.countDown();
+            consumer.flush();
+        }
+        Assertions.assertEquals(List.of("0", "7", "8", "9", "10"), messages);
+    }
+
+    @Test
+    public void sample() throws Exception {
+        try (AsyncLoggingConsumer consumer = new AsyncLoggingConsumer(LOGGER_NAME, 2, OverflowPolicy.SAMPLE)
+                .withSampleRate(3)) {
+            consumer.accept(frame(0));
+            Assertions.assertTrue(firstLogged.await(10, TimeUnit.SECONDS));
+            for (int i = 1; i <= 8; i++) {
+                consumer.accept(frame(i));
+            }
+            released.countDown();
+        }
+        // 1 and 2 fill the buffer, then 3 and 6 are sampled replacing the oldest frames
+        Assertions.assertEquals(List.of("0", "3", "6"), messages);
+    }
+
+    @Test
+    public void block() throws Exception {
+        released.countDown();
+        try (AsyncLoggingConsumer consumer = new AsyncLoggingConsumer(LOGGER_NAME, 2, OverflowPolicy.BLOCK)) {
+            for (int i = 0; i < 100; i++) {
+                consumer.accept(frame(i));
+            }
+            consumer.flush();
+            Assertions.assertEquals(0, consumer.dropped());
+        }
+        Assertions.assertEquals(IntStream.range(0, 100).mapToObj(String::valueOf).collect(Collectors.toList()), messages);
+    }
+
+    @Test
+    public void stoppedOnEnd() throws Exception {
+        released.countDown();
+        final AsyncLoggingConsumer consumer = new AsyncLoggingConsumer(LOGGER_NAME);
+        consumer.accept(frame(0));
+        consumer.flush();
+        Assertions.assertEquals(1, threads.size());
+        final Thread drainer = threads.iterator().next();
+        // The background thread stops without the consumer being closed
+        consumer.accept(OutputFrame.END);
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        Assertions.assertFalse(drainer.isAlive());
+        // Output after the end, for example when the container is started again, is still logged
+        consumer.accept(frame(1));
+        consumer.accept(OutputFrame.END);
+        consumer.flush();
+        Assertions.assertEquals(List.of("0", "1"), messages);
+        Assertions.assertEquals(2, threads.size());
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+            Assertions.assertFalse(thread.isAlive());
+        }
+    }
+
+    private static OutputFrame frame(final int i) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, (i + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Tests the {@link ContainerFingerprint} without requiring a container engine.
+ */
+public class ContainerFingerprintTest {
+
+    @Test
+    public void sameConfiguration() {
+        Assertions.assertEquals(ContainerFingerprint.of(container("arquillian/stub:1").withEnv("A", "1").withEnv("B", "2")),
+                ContainerFingerprint.of(container("arquillian/stub:1").withEnv("B", "2").withEnv("A", "1")));
+    }
+
+    @Test
+    public void differentConfiguration() {
+        final String fingerprint = ContainerFingerprint.of(container("arquillian/stub:1"));
+        Assertions.assertNotEquals(fingerprint, ContainerFingerprint.of(container("arquillian/stub:2")));
+        Assertions.assertNotEquals(fingerprint, ContainerFingerprint.of(container("arquillian/stub:1").withEnv("A", "1")));
+        Assertions.assertNotEquals(fingerprint, ContainerFingerprint.of(container("arquillian/stub:1").withExposedPorts(8080)));
+        Assertions.assertNotEquals(fingerprint, ContainerFingerprint.of(container("arquillian/stub:1").withCommand("run")));
+    }
+
+    @Test
+    public void imageName() {
+        Assertions.assertEquals("arquillian/stub:1", ContainerFingerprint.imageName(container("arquillian/stub:1")));
+        Assertions.assertEquals("arquillian/stub:1", ContainerFingerprint.resolvedImageName(container("arquillian/stub:1")));
+    }
+
+    @Test
+    @SuppressWarnings("resource")
+    public void unresolvedImageNameNotResolved() {
+        // Resolving the image would require a container engine
+        Assertions.assertNull(
+                ContainerFingerprint.resolvedImageName(new GenericContainer<>(DockerImageName.parse("arquillian/stub:1"))));
+    }
+
+    @Test
+    @SuppressWarnings("resource")
+    public void requestedImageNameNotResolved() {
+        final GenericContainer<?> container = new GenericContainer<>(DockerImageName.parse("arquillian/stub:1"));
+        Assertions.assertEquals("arquillian/stub:1", ContainerFingerprint.requestedImageName(container));
+        Assertions.assertEquals(ContainerFingerprint.ofRequested(container),
+                ContainerFingerprint.ofRequested(new GenericContainer<>(DockerImageName.parse("arquillian/stub:1"))));
+        Assertions.assertNotEquals(ContainerFingerprint.ofRequested(container),
+                ContainerFingerprint.ofRequested(new GenericContainer<>(DockerImageName.parse("arquillian/stub:2"))));
+        Assertions.assertNull(ContainerFingerprint.resolvedImageName(container));
+    }
+
+    @SuppressWarnings("resource")
+    private static GenericContainer<?> container(final String image) {
+        return new GenericContainer<>(FakeDocker.image(image));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.FakeDocker.FakeApp;
+import org.arquillian.testcontainers.FakeDocker.FakeBroker;
+import org.arquillian.testcontainers.FakeDocker.FakeDatabase;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.BrokerContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.jboss.arquillian.core.api.Instance;
+import org.jboss.arquillian.test.spi.TestClass;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ContainerInjectionTestEnricher} without requiring a container engine. The containers are either not
+ * managed, so they are never started, or {@linkplain FakeDocker fakes}.
+ */
+public class ContainerInjectionTestEnricherTest {
+
+    @Test
+    public void resolveParameters() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final ContainerInjectionTestEnricher enricher = createEnricher(registry);
+        final ParameterTest test = new ParameterTest();
+        enricher.enrich(test);
+        Assertions.assertNotNull(test.database);
+
+        final Method method = ParameterTest.class.getMethod("test", String.class, BrokerContainer.class);
+        final Object[] values = enricher.resolve(method);
+        Assertions.assertNull(values[0]);
+        Assertions.assertNotNull(values[1]);
+        // The parameter depends on the field, so must be started after it
+        Assertions.assertEquals(2, registry.startOrder().size());
+        Assertions.assertSame(values[1], enricher.resolve(method)[1]);
+    }
+
+    @Test
+    public void onlyParameterDependenciesStarted() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final ContainerInjectionTestEnricher enricher = createEnricher(registry);
+        final StartedParameterTest test = new StartedParameterTest();
+        enricher.enrich(test);
+
+        final Method method = StartedParameterTest.class.getMethod("test", FakeBroker.class);
+        final FakeBroker broker = (FakeBroker) enricher.resolve(method)[0];
+        Assertions.assertTrue(broker.isRunning());
+        Assertions.assertTrue(test.database.isRunning());
+        // The other containers of the test class are started once enrichment is complete, not for the parameter
+        Assertions.assertFalse(test.app.isRunning());
+        broker.stop();
+        test.database.stop();
+    }
+
+    @Test
+    public void inheritedParameterMethod() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final ContainerInjectionTestEnricher enricher = createEnricher(registry, InheritedParameterTest.class);
+        final InheritedParameterTest test = new InheritedParameterTest();
+        enricher.enrich(test);
+
+        // Declared by the base class, which has neither the annotation nor the field the parameter depends on
+        final Method method = InheritedParameterTest.class.getMethod("test", FakeBroker.class);
+        Assertions.assertEquals(AbstractParameterTest.class, method.getDeclaringClass());
+        final FakeBroker broker = (FakeBroker) enricher.resolve(method)[0];
+        Assertions.assertNotNull(broker);
+        Assertions.assertTrue(broker.isRunning());
+        Assertions.assertTrue(test.database.isRunning());
+        broker.stop();
+        test.database.stop();
+    }
+
+    @Test
+    public void parametersNotResolvedWithoutRequired() throws Exception {
+        final ContainerInjectionTestEnricher enricher = createEnricher(new TestcontainerRegistry());
+        final Method method = ContainerInjectionTestEnricherTest.class.getMethod("notRequired", BrokerContainer.class);
+        Assertions.assertNull(enricher.resolve(method)[0]);
+    }
+
+    @Test
+    public void concurrentEnrichment() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final ContainerInjectionTestEnricher enricher = createEnricher(registry);
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threads);
+            final List<Future<ParameterTest>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    final ParameterTest test = new ParameterTest();
+                    ready.countDown();
+                    ready.await();
+                    enricher.enrich(test);
+                    return test;
+                }));
+            }
+            final DatabaseContainer database = futures.get(0).get(10L, TimeUnit.SECONDS).database;
+            for (Future<ParameterTest> future : futures) {
+                // Each instance enriched at the same time must be injected with the same container
+                Assertions.assertSame(database, future.get(10L, TimeUnit.SECONDS).database);
+            }
+            Assertions.assertEquals(1, registry.startOrder().get(0).size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void notRequired(@Testcontainer(false) final BrokerContainer broker) {
+    }
+
+    private static ContainerInjectionTestEnricher createEnricher(final TestcontainerRegistry registry) throws Exception {
+        return createEnricher(registry, null);
+    }
+
+    private static ContainerInjectionTestEnricher createEnricher(final TestcontainerRegistry registry,
+            final Class<?> testClass) throws Exception {
+        final ContainerInjectionTestEnricher enricher = new ContainerInjectionTestEnricher();
+        final Field field = ContainerInjectionTestEnricher.class.getDeclaredField("instances");
+        field.setAccessible(true);
+        field.set(enricher, (Instance<TestcontainerRegistry>) () -> registry);
+        final Field current = ContainerInjectionTestEnricher.class.getDeclaredField("testClass");
+        current.setAccessible(true);
+        current.set(enricher, (Instance<TestClass>) () -> testClass == null ? null : new TestClass(testClass));
+        return enricher;
+    }
+
+    public abstract static class AbstractParameterTest {
+        public void test(@Testcontainer(dependsOn = "database") final FakeBroker broker) {
+        }
+    }
+
+    @TestcontainersRequired
+    public static class InheritedParameterTest extends AbstractParameterTest {
+        @Testcontainer
+        private FakeDatabase database;
+    }
+
+    @TestcontainersRequired
+    public static class StartedParameterTest {
+        @Testcontainer
+        private FakeDatabase database;
+
+        @Testcontainer
+        private FakeApp app;
+
+        public void test(@Testcontainer(dependsOn = "database") final FakeBroker broker) {
+        }
+    }
+
+    @TestcontainersRequired
+    public static class ParameterTest {
+        @Testcontainer(false)
+        private DatabaseContainer database;
+
+        public void test(final String name,
+                @Testcontainer(value = false, dependsOn = "database") final BrokerContainer broker) {
+        }
+    }
+}
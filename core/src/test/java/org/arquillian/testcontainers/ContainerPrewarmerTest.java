@@ -0,0 +1,122 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Tests the {@link ContainerPrewarmer} without requiring a container engine.
+ */
+public class ContainerPrewarmerTest {
+
+    private static final AtomicInteger STARTED = new AtomicInteger();
+
+    @Test
+    public void prewarmedContainerUsed() throws Exception {
+        final ContainerPool pool = new ContainerPool();
+        final int before = STARTED.get();
+        // Both test classes use the same container, so only one should be pre-warmed
+        Assertions.assertEquals(1, new ContainerPrewarmer().prewarm(pool,
+                List.of(FirstTestCase.class.getName(), SecondTestCase.class.getName(), "org.example.Missing"),
+                ContainerPrewarmerTest.class.getClassLoader()));
+
+        final TestcontainerRegistry registry = new TestcontainerRegistry(pool);
+        final GenericContainer<?> container = create(registry, FirstTestCase.class, "container");
+        new ContainerStarter().start(registry.startOrder());
+        Assertions.assertTrue(((CountingContainer) container).started);
+        Assertions.assertEquals(before + 1, STARTED.get(), "Expected the container to only be started once");
+
+        // The pre-warmed container has been claimed, so the next test class gets a new container
+        Assertions.assertNotSame(container, create(new TestcontainerRegistry(pool), SecondTestCase.class, "container"));
+        Assertions.assertFalse(pool.hasPrewarmed());
+    }
+
+    @Test
+    public void dependentNotPrewarmed() {
+        Assertions.assertEquals(0, new ContainerPrewarmer().prewarm(new ContainerPool(),
+                List.of(DependentTestCase.class.getName()), ContainerPrewarmerTest.class.getClassLoader()));
+    }
+
+    @Test
+    public void imageNotResolved() {
+        final ContainerPool pool = new ContainerPool();
+        Assertions.assertEquals(1, new ContainerPrewarmer().prewarm(pool, List.of(UnresolvedTestCase.class.getName()),
+                ContainerPrewarmerTest.class.getClassLoader()));
+        final TestcontainerDescription prewarmed = pool.claim(pool.key(new UnresolvedContainer(),
+                UnresolvedTestCase.class.getDeclaredFields()[0].getAnnotation(Testcontainer.class), List.of()));
+        Assertions.assertNotNull(prewarmed, "Expected the key to match without resolving the image");
+        // Resolving the image would require a container engine, so it must be left to the start of the container
+        Assertions.assertNull(ContainerFingerprint.resolvedImageName(prewarmed.instance));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GenericContainer<?> create(final TestcontainerRegistry registry, final Class<?> testClass,
+            final String fieldName) throws NoSuchFieldException {
+        final Field field = testClass.getDeclaredField(fieldName);
+        return registry.lookupOrCreate((Class<GenericContainer<?>>) field.getType(), field.getAnnotation(Testcontainer.class),
+                List.of(), field);
+    }
+
+    @TestcontainersRequired
+    public static class FirstTestCase {
+        @Testcontainer
+        private CountingContainer container;
+    }
+
+    @TestcontainersRequired
+    public static class SecondTestCase {
+        @Testcontainer
+        private CountingContainer container;
+    }
+
+    @TestcontainersRequired
+    public static class DependentTestCase {
+        @Testcontainer(dependsOn = "other")
+        private CountingContainer container;
+
+        @Testcontainer(false)
+        private CountingContainer other;
+    }
+
+    @TestcontainersRequired
+    public static class UnresolvedTestCase {
+        @Testcontainer
+        private UnresolvedContainer container;
+    }
+
+    public static class UnresolvedContainer extends GenericContainer<UnresolvedContainer> {
+        public UnresolvedContainer() {
+            super(DockerImageName.parse("arquillian/unresolved:1"));
+        }
+
+        @Override
+        public void start() {
+        }
+    }
+
+    public static class CountingContainer extends GenericContainer<CountingContainer> {
+        private volatile boolean started;
+
+        public CountingContainer() {
+            super(FakeDocker.image("arquillian/stub"));
+        }
+
+        @Override
+        public void start() {
+            STARTED.incrementAndGet();
+            started = true;
+        }
+    }
+}
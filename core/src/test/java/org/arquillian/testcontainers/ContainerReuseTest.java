@@ -0,0 +1,56 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ContainerReuse} without requiring a container engine.
+ */
+public class ContainerReuseTest {
+
+    @Testcontainer
+    private DatabaseContainer database;
+
+    @Test
+    public void labeledWithFingerprint() {
+        final DatabaseContainer container = new DatabaseContainer();
+        final String fingerprint = ContainerFingerprint.of(container);
+        ContainerReuse.configure(container, true);
+        Assertions.assertTrue(container.isShouldBeReused());
+        Assertions.assertEquals(fingerprint, container.getLabels().get(ContainerReuse.FINGERPRINT_LABEL));
+        // The same configuration must result in the same label on the next run
+        final DatabaseContainer next = new DatabaseContainer();
+        ContainerReuse.configure(next, true);
+        Assertions.assertEquals(container.getLabels(), next.getLabels());
+    }
+
+    @Test
+    public void notReusedWithoutSupport() {
+        final DatabaseContainer container = new DatabaseContainer();
+        ContainerReuse.configure(container, false);
+        Assertions.assertFalse(container.isShouldBeReused());
+        Assertions.assertFalse(container.getLabels().containsKey(ContainerReuse.FINGERPRINT_LABEL));
+    }
+
+    @Test
+    public void stoppedWithoutSupport() throws Exception {
+        // The container enables reuse itself, rather than through the annotation
+        final DatabaseContainer container = new DatabaseContainer();
+        container.withReuse(true);
+        final Field field = ContainerReuseTest.class.getDeclaredField("database");
+        final TestcontainerDescription description = new TestcontainerDescription(field.getAnnotation(Testcontainer.class),
+                container, field);
+        Assertions.assertTrue(ContainerReuse.isReused(description, true));
+        // Testcontainers starts a new container each run, so it must be stopped
+        Assertions.assertFalse(ContainerReuse.isReused(description, false));
+    }
+}
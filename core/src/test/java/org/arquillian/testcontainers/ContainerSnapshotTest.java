@@ -0,0 +1,220 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.arquillian.testcontainers.AdmissionScheduler.Cost;
+import org.arquillian.testcontainers.FakeDocker.FakeDatabase;
+import org.arquillian.testcontainers.api.ContainerInitializer;
+import org.arquillian.testcontainers.api.Snapshot;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.utility.ImageNameSubstitutor;
+
+/**
+ * Tests the {@link ContainerSnapshot} with a stubbed image store, without requiring a container engine.
+ */
+public class ContainerSnapshotTest {
+
+    @Testcontainer
+    @Snapshot(Migrate.class)
+    private FakeDatabase snapshotted;
+
+    @Testcontainer
+    private FakeDatabase database;
+
+    @TempDir
+    private Path dir;
+
+    private final StubStore store = new StubStore();
+
+    @AfterEach
+    public void reset() {
+        System.clearProperty(ContainerSnapshot.REBUILD_PROPERTY);
+        FakeDocker.reset();
+    }
+
+    @Test
+    public void initializesOnceThenRestores() throws Exception {
+        final Migrate migrate = new Migrate(dir);
+        final ContainerSnapshot first = start(new FakeDatabase(), migrate);
+        Assertions.assertFalse(first.isRestored());
+        Assertions.assertEquals(1, migrate.initialized.get());
+        Assertions.assertTrue(first.image().startsWith(ContainerSnapshot.REPOSITORY_PREFIX + "database:"), first.image());
+        Assertions.assertEquals(List.of(first.image()), store.commits);
+
+        final FakeDatabase container = new FakeDatabase();
+        final ContainerSnapshot second = start(container, migrate);
+        Assertions.assertTrue(second.isRestored());
+        Assertions.assertEquals(first.image(), second.image());
+        Assertions.assertEquals(first.image(), ContainerFingerprint.imageName(container));
+        // The snapshot only exists locally, so must not be rewritten by the image name substitutor
+        final String image = container.getImage().toString();
+        Assertions.assertTrue(image.contains("imageName=" + first.image()), image);
+        Assertions.assertTrue(image.contains(ImageNameSubstitutor.noop().getClass().getName()), image);
+        // Started from the snapshot, so neither initialized nor committed again
+        Assertions.assertEquals(1, migrate.initialized.get());
+        Assertions.assertEquals(1, store.commits.size());
+    }
+
+    @Test
+    public void rebuiltWhenInputsChange() throws Exception {
+        Files.writeString(dir.resolve("V1__schema.sql"), "create table person (id int);");
+        final Migrate migrate = new Migrate(dir);
+        final String image = start(new FakeDatabase(), migrate).image();
+
+        Files.writeString(dir.resolve("V2__seed.sql"), "insert into person values (1);");
+        final ContainerSnapshot added = start(new FakeDatabase(), migrate);
+        Assertions.assertFalse(added.isRestored());
+        Assertions.assertNotEquals(image, added.image());
+
+        Files.writeString(dir.resolve("V2__seed.sql"), "insert into person values (2);");
+        final ContainerSnapshot changed = start(new FakeDatabase(), migrate);
+        Assertions.assertFalse(changed.isRestored());
+        Assertions.assertNotEquals(added.image(), changed.image());
+        Assertions.assertEquals(3, migrate.initialized.get());
+    }
+
+    @Test
+    public void fingerprint() throws Exception {
+        Files.writeString(dir.resolve("schema.sql"), "create table person (id int);");
+        final Migrate migrate = new Migrate(dir);
+        final String fingerprint = ContainerSnapshot.fingerprint(new FakeDatabase(), migrate);
+        Assertions.assertEquals(fingerprint, ContainerSnapshot.fingerprint(new FakeDatabase(), migrate));
+        Assertions.assertEquals(fingerprint, ContainerSnapshot.fingerprint(new FakeDatabase(), new Migrate(dir)));
+        // The configuration of the container, and the version of the initializer, are part of the fingerprint
+        Assertions.assertNotEquals(fingerprint,
+                ContainerSnapshot.fingerprint(new FakeDatabase().withEnv("LANG", "C"), migrate));
+        migrate.version = "2";
+        Assertions.assertNotEquals(fingerprint, ContainerSnapshot.fingerprint(new FakeDatabase(), migrate));
+    }
+
+    @Test
+    public void rebuildProperty() throws Exception {
+        final Migrate migrate = new Migrate(dir);
+        start(new FakeDatabase(), migrate);
+        System.setProperty(ContainerSnapshot.REBUILD_PROPERTY, "true");
+        Assertions.assertFalse(start(new FakeDatabase(), migrate).isRestored());
+        Assertions.assertEquals(2, migrate.initialized.get());
+        Assertions.assertEquals(2, store.commits.size());
+    }
+
+    @Test
+    public void initializerFailure() throws Exception {
+        final Migrate migrate = new Migrate(dir);
+        migrate.fail = true;
+        final FakeDatabase container = new FakeDatabase();
+        final ContainerStartup startup = startup(container, new ContainerSnapshot(container, cast(migrate), store));
+        final RuntimeException e = Assertions.assertThrows(RuntimeException.class, startup::start);
+        Assertions.assertTrue(e.getMessage().startsWith("Failed to initialize container"), e.getMessage());
+        Assertions.assertTrue(startup.isFailed());
+        Assertions.assertTrue(store.commits.isEmpty());
+    }
+
+    @Test
+    public void commitFailureDoesNotFailStart() throws Exception {
+        final Migrate migrate = new Migrate(dir);
+        store.failCommit = true;
+        final FakeDatabase container = new FakeDatabase();
+        final ContainerStartup startup = startup(container, new ContainerSnapshot(container, cast(migrate), store));
+        startup.start();
+        Assertions.assertFalse(startup.isFailed());
+        Assertions.assertTrue(container.isRunning());
+    }
+
+    @Test
+    public void onlyAnnotatedFields() throws Exception {
+        Assertions.assertNotNull(ContainerSnapshot.of(new FakeDatabase(),
+                ContainerSnapshotTest.class.getDeclaredField("snapshotted")));
+        Assertions.assertNull(ContainerSnapshot.of(new FakeDatabase(),
+                ContainerSnapshotTest.class.getDeclaredField("database")));
+    }
+
+    private ContainerSnapshot start(final FakeDatabase container, final Migrate migrate) {
+        final ContainerSnapshot snapshot = new ContainerSnapshot(container, cast(migrate), store);
+        startup(container, snapshot).start();
+        return snapshot;
+    }
+
+    private static ContainerStartup startup(final FakeDatabase container, final ContainerSnapshot snapshot) {
+        return new ContainerStartup(container, Cost.DEFAULT, new AdmissionScheduler(0.0, 0L), snapshot);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static ContainerInitializer<GenericContainer<?>> cast(final ContainerInitializer<?> initializer) {
+        return (ContainerInitializer) initializer;
+    }
+
+    private static class StubStore implements ContainerSnapshot.Store {
+        private final Set<String> images = ConcurrentHashMap.newKeySet();
+        private final List<String> commits = new ArrayList<>();
+        private volatile boolean failCommit;
+
+        @Override
+        public boolean exists(final String image) {
+            return images.contains(image);
+        }
+
+        @Override
+        public void commit(final GenericContainer<?> container, final String image, final Map<String, String> labels) {
+            Assertions.assertTrue(container.isRunning(), "Only a running container can be committed");
+            Assertions.assertEquals(image.substring(image.lastIndexOf(':') + 1),
+                    labels.get(ContainerSnapshot.FINGERPRINT_LABEL));
+            if (failCommit) {
+                throw new IllegalStateException("Failed to commit " + image);
+            }
+            images.add(image);
+            commits.add(image);
+        }
+    }
+
+    public static class Migrate implements ContainerInitializer<FakeDatabase> {
+        private final AtomicInteger initialized = new AtomicInteger();
+        private final Path scripts;
+        private volatile String version = "1";
+        private volatile boolean fail;
+
+        public Migrate() {
+            this(null);
+        }
+
+        Migrate(final Path scripts) {
+            this.scripts = scripts;
+        }
+
+        @Override
+        public void initialize(final FakeDatabase container) {
+            Assertions.assertTrue(container.isRunning(), "The container must be started before it is initialized");
+            if (fail) {
+                throw new IllegalStateException("Migration failed");
+            }
+            initialized.incrementAndGet();
+        }
+
+        @Override
+        public Collection<Path> inputs() {
+            return scripts == null ? List.of() : List.of(scripts);
+        }
+
+        @Override
+        public String version() {
+            return version;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.ContainerState;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Tests the {@link ContainerStarter} without requiring a container engine.
+ */
+public class ContainerStarterTest {
+
+    @Testcontainer
+    private GenericContainer<?> first;
+
+    @Testcontainer
+    private GenericContainer<?> second;
+
+    @Testcontainer
+    private GenericContainer<?> third;
+
+    @Testcontainer(false)
+    private GenericContainer<?> manual;
+
+    @Testcontainer(type = LatchContainer.class, lazy = true)
+    private ContainerState lazy;
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ContainerStarter.PARALLEL_PROPERTY);
+    }
+
+    @Test
+    public void startsInParallel() throws Exception {
+        System.setProperty(ContainerStarter.PARALLEL_PROPERTY, "true");
+        // Each container only starts once both are starting, which would time out if started one at a time
+        final CountDownLatch latch = new CountDownLatch(2);
+        final LatchContainer firstContainer = new LatchContainer(latch);
+        final LatchContainer secondContainer = new LatchContainer(latch);
+        new ContainerStarter()
+                .start(List.of(List.of(description("first", firstContainer), description("second", secondContainer))));
+        Assertions.assertTrue(firstContainer.started);
+        Assertions.assertTrue(secondContainer.started);
+    }
+
+    @Test
+    public void reportsAllFailures() throws Exception {
+        System.setProperty(ContainerStarter.PARALLEL_PROPERTY, "true");
+        final RuntimeException e = Assertions.assertThrows(RuntimeException.class,
+                () -> new ContainerStarter().start(List.of(List.of(description("first", new FailingContainer()),
+                        description("second", new FailingContainer())))));
+        Assertions.assertEquals(2, e.getSuppressed().length);
+        Assertions.assertTrue(e.getMessage().contains(field("first").toString()), e.getMessage());
+        Assertions.assertTrue(e.getMessage().contains(field("second").toString()), e.getMessage());
+    }
+
+    @Test
+    public void skipsUnmanaged() throws Exception {
+        final LatchContainer container = new LatchContainer(new CountDownLatch(0));
+        new ContainerStarter().start(List.of(List.of(description("manual", container))));
+        Assertions.assertFalse(container.started);
+    }
+
+    @Test
+    public void startsWavesInOrder() throws Exception {
+        System.setProperty(ContainerStarter.PARALLEL_PROPERTY, "true");
+        final LatchContainer firstContainer = new LatchContainer(new CountDownLatch(0));
+        final FailingContainer secondContainer = new FailingContainer();
+        final LatchContainer thirdContainer = new LatchContainer(new CountDownLatch(0));
+        Assertions.assertThrows(RuntimeException.class, () -> new ContainerStarter()
+                .start(List.of(List.of(description("first", firstContainer)), List.of(description("second", secondContainer)),
+                        List.of(description("third", thirdContainer)))));
+        Assertions.assertTrue(firstContainer.started);
+        // The third wave should never be started as the second failed
+        Assertions.assertFalse(thirdContainer.started);
+    }
+
+    @Test
+    public void lazyStartedOnFirstUse() throws Exception {
+        final LatchContainer container = new LatchContainer(new CountDownLatch(0));
+        final TestcontainerDescription description = description("lazy", container);
+        new ContainerStarter().start(List.of(List.of(description)));
+        Assertions.assertFalse(container.started);
+
+        final ContainerState proxy = (ContainerState) LazyContainer.proxy(ContainerState.class, description);
+        Assertions.assertNotNull(proxy.toString());
+        Assertions.assertFalse(container.started);
+        proxy.getContainerId();
+        Assertions.assertTrue(container.started);
+    }
+
+    @Test
+    public void lazyStartedForDependent() throws Exception {
+        final LatchContainer lazyContainer = new LatchContainer(new CountDownLatch(0));
+        final LatchContainer dependentContainer = new LatchContainer(new CountDownLatch(0));
+        final TestcontainerDescription lazyDescription = description("lazy", lazyContainer);
+        final TestcontainerDescription dependent = description("first", dependentContainer);
+        dependent.dependencies.add(lazyDescription);
+        new ContainerStarter().start(List.of(List.of(lazyDescription), List.of(dependent)));
+        Assertions.assertTrue(lazyContainer.started);
+        Assertions.assertTrue(dependentContainer.started);
+    }
+
+    private static TestcontainerDescription description(final String fieldName, final GenericContainer<?> container)
+            throws NoSuchFieldException {
+        final Field field = field(fieldName);
+        return new TestcontainerDescription(field.getAnnotation(Testcontainer.class), container, field);
+    }
+
+    private static Field field(final String name) throws NoSuchFieldException {
+        return ContainerStarterTest.class.getDeclaredField(name);
+    }
+
+    private static class LatchContainer extends GenericContainer<LatchContainer> {
+        private final CountDownLatch latch;
+        private volatile boolean started;
+
+        LatchContainer(final CountDownLatch latch) {
+            super(FakeDocker.image("arquillian/stub"));
+            this.latch = latch;
+        }
+
+        @Override
+        public void start() {
+            latch.countDown();
+            try {
+                if (!latch.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Containers were not started in parallel");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            started = true;
+        }
+    }
+
+    private static class FailingContainer extends GenericContainer<FailingContainer> {
+
+        FailingContainer() {
+            super(FakeDocker.image("arquillian/stub"));
+        }
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("Failed to start " + this);
+        }
+    }
+}
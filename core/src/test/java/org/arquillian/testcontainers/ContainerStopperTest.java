@@ -0,0 +1,111 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Tests the {@link ContainerStopper} without requiring a container engine.
+ */
+public class ContainerStopperTest {
+
+    @Testcontainer
+    private GenericContainer<?> database;
+
+    @Testcontainer(dependsOn = "database")
+    private GenericContainer<?> app;
+
+    private final Queue<String> stopped = new ConcurrentLinkedQueue<>();
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(ContainerStopper.PARALLEL_PROPERTY);
+        System.clearProperty(ContainerStopper.DETACHED_PROPERTY);
+    }
+
+    @Test
+    public void stopsInReverseOrder() throws Exception {
+        System.setProperty(ContainerStopper.PARALLEL_PROPERTY, "true");
+        new ContainerStopper().stop(List.of(List.of(description("database", new RecordingContainer("database", null))),
+                List.of(description("app", new RecordingContainer("app", null)))));
+        Assertions.assertEquals(List.of("app", "database"), List.copyOf(stopped));
+    }
+
+    @Test
+    public void stopsAllOnFailure() throws Exception {
+        final RuntimeException e = Assertions.assertThrows(RuntimeException.class, () -> new ContainerStopper()
+                .stop(List.of(List.of(description("database", new RecordingContainer("database", null)),
+                        description("app", new FailingContainer())))));
+        Assertions.assertTrue(e.getMessage().contains(ContainerStopperTest.class.getDeclaredField("app").toString()),
+                e.getMessage());
+        Assertions.assertEquals(List.of("database"), List.copyOf(stopped));
+    }
+
+    @Test
+    public void detached() throws Exception {
+        System.setProperty(ContainerStopper.DETACHED_PROPERTY, "true");
+        final CountDownLatch latch = new CountDownLatch(1);
+        new ContainerStopper().stop(List.of(List.of(description("database", new RecordingContainer("database", latch)))));
+        // The stop should be waiting on the latch in the background
+        Assertions.assertTrue(stopped.isEmpty());
+        latch.countDown();
+        ContainerStopper.awaitDetached();
+        Assertions.assertEquals(List.of("database"), List.copyOf(stopped));
+    }
+
+    private static TestcontainerDescription description(final String fieldName, final GenericContainer<?> container)
+            throws NoSuchFieldException {
+        final Field field = ContainerStopperTest.class.getDeclaredField(fieldName);
+        return new TestcontainerDescription(field.getAnnotation(Testcontainer.class), container, field);
+    }
+
+    private class RecordingContainer extends GenericContainer<RecordingContainer> {
+        private final String name;
+        private final CountDownLatch latch;
+
+        RecordingContainer(final String name, final CountDownLatch latch) {
+            super(FakeDocker.image("arquillian/stub"));
+            this.name = name;
+            this.latch = latch;
+        }
+
+        @Override
+        public void stop() {
+            try {
+                if (latch != null && !latch.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Timed out waiting to stop " + name);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            stopped.add(name);
+        }
+    }
+
+    private static class FailingContainer extends GenericContainer<FailingContainer> {
+
+        FailingContainer() {
+            super(FakeDocker.image("arquillian/stub"));
+        }
+
+        @Override
+        public void stop() {
+            throw new IllegalStateException("Failed to stop " + this);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.StringWriter;
+import java.lang.reflect.Field;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.arquillian.testcontainers.api.ContainerTiming.Phase;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link ContainerTimingWriter} and the {@link ContainerMetrics} which feed it.
+ */
+public class ContainerTimingWriterTest {
+
+    private static final List<ContainerTiming> TIMINGS = List.of(
+            new ContainerTiming("org.example.FirstTest", "database", "postgres:16", Phase.START, Duration.ofMillis(1500),
+                    false),
+            new ContainerTiming(null, null, "quoted \"name\", with comma", Phase.PULL, Duration.ofNanos(1_234_567), true));
+
+    @Testcontainer
+    private DatabaseContainer database;
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ContainerTimingWriter.FILE_PROPERTY);
+    }
+
+    @Test
+    public void json() throws Exception {
+        final StringWriter writer = new StringWriter();
+        ContainerTimingWriter.writeJson(TIMINGS, writer);
+        final String json = writer.toString();
+        Assertions.assertTrue(json.contains("{\"testClass\": \"org.example.FirstTest\", \"name\": \"database\", "
+                + "\"image\": \"postgres:16\", \"phase\": \"START\", \"durationMs\": 1500.000, \"failed\": false}"), json);
+        Assertions.assertTrue(json.contains("{\"testClass\": null, \"name\": null, "
+                + "\"image\": \"quoted \\\"name\\\", with comma\", \"phase\": \"PULL\", \"durationMs\": 1.235, "
+                + "\"failed\": true}"), json);
+    }
+
+    @Test
+    public void csv() throws Exception {
+        final StringWriter writer = new StringWriter();
+        ContainerTimingWriter.writeCsv(TIMINGS, writer);
+        final List<String> lines = writer.toString().lines().collect(Collectors.toList());
+        Assertions.assertEquals(List.of("testClass,name,image,phase,durationMs,failed",
+                "org.example.FirstTest,database,postgres:16,START,1500.000,false",
+                ",,\"quoted \"\"name\"\", with comma\",PULL,1.235,true"), lines);
+    }
+
+    @Test
+    public void writtenAtSuiteCompletion(@TempDir final Path dir) throws Exception {
+        final Path file = dir.resolve("timings.csv");
+        System.setProperty(ContainerTimingWriter.FILE_PROPERTY, file.toString());
+        final ContainerTimingWriter timingWriter = new ContainerTimingWriter();
+        TIMINGS.forEach(timingWriter::completed);
+        timingWriter.suiteCompleted();
+        Assertions.assertEquals(3, Files.readAllLines(file).size());
+    }
+
+    @Test
+    public void startRecordedOnce() throws Exception {
+        final List<ContainerTiming> recorded = new ArrayList<>();
+        final ContainerMetrics metrics = new ContainerMetrics(List.of(recorded::add));
+        final Field field = ContainerTimingWriterTest.class.getDeclaredField("database");
+        final TestcontainerDescription description = new TestcontainerDescription(field.getAnnotation(Testcontainer.class),
+                new DatabaseContainer(), field);
+        description.created = Duration.ofMillis(1);
+        // Not yet started, so only the creation is recorded
+        metrics.recordStarts("org.example.FirstTest", List.of(description));
+        metrics.recordStarts("org.example.SecondTest", List.of(description));
+        Assertions.assertEquals(1, recorded.size());
+        Assertions.assertEquals(Phase.CREATE, recorded.get(0).getPhase());
+        Assertions.assertEquals("database", recorded.get(0).getName());
+        Assertions.assertEquals("arquillian/database:latest", recorded.get(0).getImage());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link DockerProbe} without requiring a container engine.
+ */
+public class DockerProbeTest {
+
+    private final AtomicInteger probes = new AtomicInteger();
+    private final AtomicLong clock = new AtomicLong();
+
+    @AfterEach
+    public void clearProperties() {
+        System.clearProperty(DockerProbe.AVAILABLE_PROPERTY);
+        System.clearProperty(DockerProbe.TTL_PROPERTY);
+    }
+
+    @Test
+    public void negativeResultRemembered() {
+        final DockerProbe probe = createProbe(false);
+        Assertions.assertFalse(probe.isAvailable());
+        Assertions.assertFalse(probe.isAvailable());
+        Assertions.assertEquals(1, probes.get());
+    }
+
+    @Test
+    public void probeRecorded() {
+        final List<ContainerTiming> timings = new CopyOnWriteArrayList<>();
+        final ContainerMetrics metrics = new ContainerMetrics(List.of(timings::add));
+        final DockerProbe probe = createProbe(false);
+        probe.record(metrics);
+        Assertions.assertTrue(timings.isEmpty(), "Expected nothing to be recorded before probing");
+
+        Assertions.assertFalse(probe.isAvailable());
+        probe.record(metrics);
+        Assertions.assertFalse(probe.isAvailable());
+        probe.record(metrics);
+        Assertions.assertEquals(1, timings.size(), () -> "Expected the probe to be recorded once: " + timings);
+        final ContainerTiming timing = timings.get(0);
+        Assertions.assertEquals(ContainerTiming.Phase.PROBE, timing.getPhase());
+        Assertions.assertEquals(Duration.ofMillis(5), timing.getDuration());
+        Assertions.assertTrue(timing.isFailed());
+        Assertions.assertNull(timing.getTestClass());
+    }
+
+    @Test
+    public void expiredResultProbedAgain() {
+        System.setProperty(DockerProbe.TTL_PROPERTY, "100");
+        final DockerProbe probe = createProbe(true);
+        Assertions.assertTrue(probe.isAvailable());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertTrue(probe.isAvailable());
+        Assertions.assertEquals(1, probes.get());
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(50));
+        Assertions.assertTrue(probe.isAvailable());
+        Assertions.assertEquals(2, probes.get());
+    }
+
+    @Test
+    public void overridden() {
+        System.setProperty(DockerProbe.AVAILABLE_PROPERTY, "true");
+        final DockerProbe probe = createProbe(false);
+        Assertions.assertTrue(probe.isAvailable());
+        Assertions.assertEquals(0, probes.get());
+    }
+
+    private DockerProbe createProbe(final boolean available) {
+        return new DockerProbe(() -> {
+            probes.incrementAndGet();
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+            return available;
+        }, clock::get);
+    }
+}
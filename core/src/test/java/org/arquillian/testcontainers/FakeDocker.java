@@ -0,0 +1,199 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * An in-JVM stand-in for a container environment. {@linkplain FakeContainer Fake containers} pretend to pull, start and
+ * stop by sleeping for the configured latencies, and fail to start when configured to. The fake environment counts what
+ * the containers did, so tests can check every started container was stopped.
+ * <p>
+ * There is one fake environment for the JVM. Tests should {@linkplain #reset() reset} it once complete.
+ * </p>
+ */
+final class FakeDocker {
+
+    private static volatile FakeDocker current = new FakeDocker();
+
+    volatile Duration pullLatency = Duration.ZERO;
+    volatile Duration startLatency = Duration.ZERO;
+    volatile Duration stopLatency = Duration.ZERO;
+    /**
+     * Every container start with this number fails, {@code 0} to never fail
+     */
+    volatile int failEvery;
+
+    final Set<String> pulled = ConcurrentHashMap.newKeySet();
+    final AtomicInteger starts = new AtomicInteger();
+    final AtomicInteger failures = new AtomicInteger();
+    final AtomicInteger stops = new AtomicInteger();
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final AtomicInteger starting = new AtomicInteger();
+    final AtomicInteger maxStarting = new AtomicInteger();
+
+    private FakeDocker() {
+    }
+
+    /**
+     * @return the fake environment the fake containers use
+     */
+    static FakeDocker current() {
+        return current;
+    }
+
+    /**
+     * Replaces the fake environment with a new one, without latency or failures.
+     *
+     * @return the new fake environment
+     */
+    static FakeDocker reset() {
+        current = new FakeDocker();
+        return current;
+    }
+
+    private static void sleep(final Duration duration) {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContainerLaunchException("Interrupted", e);
+        }
+    }
+
+    /**
+     * Creates an image which is already resolved, so its name is known without resolving it against a container
+     * environment.
+     *
+     * @param name the name of the image
+     *
+     * @return the resolved image
+     */
+    static RemoteDockerImage image(final String name) {
+        final String resolved = DockerImageName.parse(name).asCanonicalNameString();
+        return new RemoteDockerImage(DockerImageName.parse(name)) {
+            @Override
+            public String get() {
+                return resolved;
+            }
+
+            @Override
+            public String get(final long timeout, final TimeUnit unit) {
+                return resolved;
+            }
+
+            @Override
+            public boolean isDone() {
+                return true;
+            }
+        };
+    }
+
+    /**
+     * A container which only pretends to run, see {@link FakeDocker}.
+     */
+    static class FakeContainer<SELF extends FakeContainer<SELF>> extends GenericContainer<SELF> {
+        private final String image;
+        private volatile String dockerImageName;
+        private volatile String containerId;
+
+        FakeContainer(final String image) {
+            super(image("arquillian/" + image));
+            this.image = image;
+        }
+
+        @Override
+        public synchronized void start() {
+            if (containerId != null) {
+                return;
+            }
+            final FakeDocker docker = current();
+            if (docker.pulled.add(image)) {
+                sleep(docker.pullLatency);
+            }
+            docker.maxStarting.accumulateAndGet(docker.starting.incrementAndGet(), Math::max);
+            try {
+                sleep(docker.startLatency);
+            } finally {
+                docker.starting.decrementAndGet();
+            }
+            final int start = docker.starts.incrementAndGet();
+            if (docker.failEvery > 0 && start % docker.failEvery == 0) {
+                docker.failures.incrementAndGet();
+                throw new ContainerLaunchException(String.format("Injected failure starting %s", this));
+            }
+            containerId = UUID.randomUUID().toString();
+            docker.maxRunning.accumulateAndGet(docker.running.incrementAndGet(), Math::max);
+        }
+
+        @Override
+        public synchronized void stop() {
+            if (containerId == null) {
+                return;
+            }
+            final FakeDocker docker = current();
+            sleep(docker.stopLatency);
+            containerId = null;
+            docker.running.decrementAndGet();
+            docker.stops.incrementAndGet();
+        }
+
+        @Override
+        public void setDockerImageName(final String dockerImageName) {
+            super.setDockerImageName(dockerImageName);
+            // The new image could only be resolved against a container environment, so keep its name instead
+            this.dockerImageName = dockerImageName;
+        }
+
+        @Override
+        public String getDockerImageName() {
+            final String name = dockerImageName;
+            return name == null ? super.getDockerImageName() : name;
+        }
+
+        @Override
+        public String getContainerId() {
+            return containerId;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return containerId != null;
+        }
+    }
+
+    public static class FakeDatabase extends FakeContainer<FakeDatabase> {
+        public FakeDatabase() {
+            super("database");
+        }
+    }
+
+    public static class FakeBroker extends FakeContainer<FakeBroker> {
+        public FakeBroker() {
+            super("broker");
+        }
+    }
+
+    public static class FakeApp extends FakeContainer<FakeApp> {
+        public FakeApp() {
+            super("app");
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.api.FileLogConsumer;
+import org.arquillian.testcontainers.api.LogFile;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Tests the {@link FileLogConsumer} without requiring a container engine.
+ */
+public class FileLogConsumerTest {
+
+    @Testcontainer
+    @LogFile(value = "database.log", gzip = true)
+    private DatabaseContainer database;
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ContainerLogs.DIR_PROPERTY);
+    }
+
+    @Test
+    public void rotates(@TempDir final Path dir) throws Exception {
+        final FileLogConsumer consumer = new FileLogConsumer(dir.resolve("app.log"), 10L, 2, false);
+        for (String line : List.of("first\n", "second\n", "third\n", "fourth\n")) {
+            consumer.accept(frame(line));
+        }
+        consumer.accept(OutputFrame.END);
+        Assertions.assertEquals("fourth\n", Files.readString(consumer.file(0)));
+        Assertions.assertEquals("third\n", Files.readString(consumer.file(1)));
+        Assertions.assertEquals("second\n", Files.readString(consumer.file(2)));
+        Assertions.assertFalse(Files.exists(consumer.file(3)));
+
+        // Output after the end is appended to the file
+        consumer.accept(frame("fifth\n"));
+        consumer.close();
+        Assertions.assertEquals("fourth\nfifth\n", Files.readString(consumer.file(0)));
+    }
+
+    @Test
+    public void largeFrame(@TempDir final Path dir) throws Exception {
+        final String large = "x".repeat(FileLogConsumer.BUFFER_SIZE * 2) + "\n";
+        try (FileLogConsumer consumer = FileLogConsumer.of(dir.resolve("app.log"))) {
+            consumer.accept(frame("first\n"));
+            consumer.accept(frame(large));
+            consumer.accept(frame("last\n"));
+        }
+        Assertions.assertEquals("first\n" + large + "last\n", Files.readString(dir.resolve("app.log")));
+    }
+
+    @Test
+    public void addedForAnnotatedField(@TempDir final Path dir) throws Exception {
+        System.setProperty(ContainerLogs.DIR_PROPERTY, dir.toString());
+        final Field field = FileLogConsumerTest.class.getDeclaredField("database");
+        @SuppressWarnings("unchecked")
+        final GenericContainer<?> container = new TestcontainerRegistry().lookupOrCreate(
+                (Class<GenericContainer<?>>) field.getType(), field.getAnnotation(Testcontainer.class), List.of(), field);
+        Assertions.assertEquals(1, container.getLogConsumers().size());
+        final FileLogConsumer consumer = (FileLogConsumer) container.getLogConsumers().get(0);
+        consumer.accept(frame("started\n"));
+        consumer.accept(OutputFrame.END);
+
+        final Path file = dir.resolve("database.log.gz");
+        Assertions.assertEquals(file, consumer.file(0));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            Assertions.assertEquals("started\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private static OutputFrame frame(final String line) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, line.getBytes(StandardCharsets.UTF_8));
+    }
+}
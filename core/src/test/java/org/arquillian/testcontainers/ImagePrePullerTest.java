@@ -0,0 +1,69 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.AppContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.BrokerContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ImagePrePuller} with a fake puller, so no container engine is required.
+ */
+public class ImagePrePullerTest {
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ImagePrePuller.IMAGES_PROPERTY);
+    }
+
+    @Test
+    public void collectsImages() throws Exception {
+        System.setProperty(ImagePrePuller.IMAGES_PROPERTY, "arquillian/extra, arquillian/extra:latest");
+        final Map<String, Future<String>> images = new ImagePrePuller(Future::get).images(
+                List.of(InjectionPlanTest.ContainersTest.class.getName(), InjectionPlanTest.StaticTest.class.getName(),
+                        "org.example.Missing"),
+                ImagePrePullerTest.class.getClassLoader());
+        // The images are not resolved while collecting them, as resolving an image pulls it
+        Assertions.assertEquals(List.of(DatabaseContainer.class.getName(), BrokerContainer.class.getName(),
+                AppContainer.class.getName(), "arquillian/extra:latest"), List.copyOf(images.keySet()));
+        Assertions.assertEquals("arquillian/database:latest", images.get(DatabaseContainer.class.getName()).get());
+        Assertions.assertEquals("arquillian/broker:latest", images.get(BrokerContainer.class.getName()).get());
+    }
+
+    @Test
+    public void pullsInParallel() {
+        // Each pull only completes once both are pulling, which would time out if pulled one at a time
+        final CountDownLatch latch = new CountDownLatch(2);
+        final Map<String, Future<String>> images = new LinkedHashMap<>();
+        images.put("database", CompletableFuture.completedFuture("arquillian/database:latest"));
+        images.put("missing", CompletableFuture.completedFuture("arquillian/missing:latest"));
+        final Map<String, Duration> timings = new ImagePrePuller(image -> {
+            latch.countDown();
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Images were not pulled in parallel");
+            }
+            if (image.get().equals("arquillian/missing:latest")) {
+                throw new IllegalStateException("No such image " + image.get());
+            }
+            return image.get();
+        }).pull(images);
+        // The timings are keyed by the resolved name of the image
+        Assertions.assertEquals(Set.of("arquillian/database:latest"), timings.keySet());
+    }
+}
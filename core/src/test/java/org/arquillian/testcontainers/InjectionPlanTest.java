@@ -0,0 +1,159 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.Annotation;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.AppContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.BrokerContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.TestcontainerRegistryTest.Primary;
+import org.arquillian.testcontainers.api.LogFile;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.arquillian.testcontainers.api.WaitForLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Tests the {@link InjectionPlan} without requiring a container engine.
+ */
+public class InjectionPlanTest {
+
+    @Test
+    public void planIsCached() {
+        final InjectionPlan plan = InjectionPlan.of(ContainersTest.class);
+        Assertions.assertSame(plan, InjectionPlan.of(ContainersTest.class));
+        Assertions.assertTrue(plan.required);
+        Assertions.assertTrue(plan.hasDependencies);
+        Assertions.assertNull(plan.dependencyError);
+        Assertions.assertEquals(2, plan.points.size());
+
+        final InjectionPlan.InjectionPoint broker = plan.points.stream()
+                .filter(p -> p.field.getName().equals("broker"))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertEquals(List.of(plan.points.indexOf(broker) == 0 ? 1 : 0), broker.dependencies);
+    }
+
+    @Test
+    public void notRequired() {
+        final InjectionPlan plan = InjectionPlan.of(InjectionPlanTest.class);
+        Assertions.assertFalse(plan.required);
+        Assertions.assertTrue(plan.points.isEmpty());
+    }
+
+    @Test
+    public void set() throws Throwable {
+        final ContainersTest test = new ContainersTest();
+        final DatabaseContainer database = new DatabaseContainer();
+        final BrokerContainer broker = new BrokerContainer();
+        for (InjectionPlan.InjectionPoint point : InjectionPlan.of(ContainersTest.class).points) {
+            point.set(test, point.type() == (Class<?>) DatabaseContainer.class ? database : broker);
+        }
+        Assertions.assertSame(database, test.database);
+        Assertions.assertSame(broker, test.broker);
+    }
+
+    @Test
+    public void invalidField() {
+        final InjectionPlan plan = InjectionPlan.of(InvalidTest.class);
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> plan.points.get(0).validate());
+        Assertions.assertTrue(e.getMessage().contains("is not assignable to"), e.getMessage());
+        Assertions.assertNotNull(plan.dependencyError);
+    }
+
+    @Test
+    public void lazyConcreteField() {
+        final InjectionPlan plan = InjectionPlan.of(LazyConcreteTest.class);
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> plan.points.get(0).validate());
+        // The error must name the declared type, which cannot be proxied
+        Assertions.assertTrue(e.getMessage().contains("declared as " + DatabaseContainer.class.getName()), e.getMessage());
+    }
+
+    @Test
+    public void qualifiers() {
+        final InjectionPlan plan = InjectionPlan.of(QualifiedTest.class);
+        // The annotations of the extension configure the container, other annotations qualify it
+        Assertions.assertEquals(Set.of(Primary.class, Unmarked.class),
+                plan.points.get(0).qualifiers.stream().map(Annotation::annotationType).collect(Collectors.toSet()));
+        Assertions.assertNull(plan.dependencyError);
+    }
+
+    @Test
+    public void staticFieldsInjectedOnce() {
+        final InjectionPlan plan = InjectionPlan.of(StaticTest.class);
+        Assertions.assertTrue(plan.hasEager);
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        Assertions.assertTrue(ContainerInjectionTestEnricher.injectStatic(registry, StaticTest.class));
+        Assertions.assertNotNull(StaticTest.database);
+        // The static broker depends on an instance field, so it cannot be injected before an instance exists
+        Assertions.assertNull(StaticTest.broker);
+        Assertions.assertFalse(ContainerInjectionTestEnricher.injectStatic(registry, ContainersTest.class));
+        StaticTest.database = null;
+    }
+
+    @TestcontainersRequired
+    public static class StaticTest {
+        @Testcontainer
+        private static DatabaseContainer database;
+
+        @Testcontainer(dependsOn = "app")
+        private static BrokerContainer broker;
+
+        @Testcontainer
+        private AppContainer app;
+    }
+
+    @TestcontainersRequired
+    public static class ContainersTest {
+        @Testcontainer
+        private DatabaseContainer database;
+
+        @Testcontainer(dependsOn = "database")
+        private BrokerContainer broker;
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    public @interface Unmarked {
+    }
+
+    @TestcontainersRequired
+    public static class QualifiedTest {
+        @Primary
+        @Unmarked
+        @LogFile
+        @WaitForLog("started in")
+        @Testcontainer
+        DatabaseContainer database;
+
+        @Testcontainer(dependsOn = "Primary")
+        BrokerContainer broker;
+    }
+
+    @TestcontainersRequired
+    public static class LazyConcreteTest {
+        @Testcontainer(type = DatabaseContainer.class, lazy = true)
+        private DatabaseContainer database;
+    }
+
+    @TestcontainersRequired
+    public static class InvalidTest {
+        @Testcontainer(type = GenericContainer.class, dependsOn = "missing")
+        private String invalid;
+    }
+}
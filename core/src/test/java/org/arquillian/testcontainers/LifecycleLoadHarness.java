@@ -0,0 +1,199 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.arquillian.testcontainers.api.ContainerLifecycleListener;
+import org.arquillian.testcontainers.api.ContainerTiming;
+import org.jboss.arquillian.core.api.annotation.ApplicationScoped;
+import org.jboss.arquillian.core.spi.Manager;
+import org.jboss.arquillian.core.spi.ManagerBuilder;
+import org.jboss.arquillian.core.spi.ServiceLoader;
+import org.jboss.arquillian.test.impl.TestContextHandler;
+import org.jboss.arquillian.test.impl.context.ClassContextImpl;
+import org.jboss.arquillian.test.impl.context.SuiteContextImpl;
+import org.jboss.arquillian.test.impl.context.TestContextImpl;
+import org.jboss.arquillian.test.spi.event.enrichment.AfterEnrichment;
+import org.jboss.arquillian.test.spi.event.suite.After;
+import org.jboss.arquillian.test.spi.event.suite.AfterClass;
+import org.jboss.arquillian.test.spi.event.suite.AfterSuite;
+import org.jboss.arquillian.test.spi.event.suite.Before;
+import org.jboss.arquillian.test.spi.event.suite.BeforeClass;
+import org.jboss.arquillian.test.spi.event.suite.BeforeSuite;
+
+/**
+ * Drives the {@link TestContainersObserver} through the lifecycle of a suite of simulated test classes, without a
+ * container engine. The test classes should be annotated with
+ * {@link org.arquillian.testcontainers.api.TestcontainersRequired @TestcontainersRequired} and inject
+ * {@linkplain FakeDocker fake containers}. Each test class needs a no-arg constructor and a public no-arg {@code test} method,
+ * which is never invoked.
+ * <p>
+ * For each test class the suite fires the same events Arquillian does, and the test instance is enriched by the
+ * {@link ContainerInjectionTestEnricher}. A failure of a test class, for example a container which failed to start, is
+ * counted and the suite continues with the next test class.
+ * </p>
+ */
+final class LifecycleLoadHarness {
+
+    /**
+     * The outcome of a suite.
+     */
+    static final class Result {
+        final int classes;
+        final int failedClasses;
+        final Duration elapsed;
+        final Duration startTotal;
+        final int starts;
+        final int failures;
+        final int stops;
+        final int running;
+        final int maxRunning;
+        final int maxStarting;
+
+        private Result(final int classes, final int failedClasses, final Duration elapsed, final Duration startTotal,
+                final FakeDocker docker) {
+            this.classes = classes;
+            this.failedClasses = failedClasses;
+            this.elapsed = elapsed;
+            this.startTotal = startTotal;
+            this.starts = docker.starts.get();
+            this.failures = docker.failures.get();
+            this.stops = docker.stops.get();
+            this.running = docker.running.get();
+            this.maxRunning = docker.maxRunning.get();
+            this.maxStarting = docker.maxStarting.get();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d classes (%d failed) in %d ms, %d ms of container starts: "
+                    + "%d starts (%d failed), %d stops, %d running (at most %d), at most %d starting",
+                    classes, failedClasses, elapsed.toMillis(), startTotal.toMillis(), starts, failures, stops, running,
+                    maxRunning, maxStarting);
+        }
+    }
+
+    private LifecycleLoadHarness() {
+    }
+
+    /**
+     * Runs a suite against the current {@link FakeDocker}. The test classes are run in turn until the number of test
+     * classes has been run.
+     *
+     * @param classes     the number of test classes to run
+     * @param testClasses the test classes to run
+     * @param properties  the system properties to set while the suite runs
+     *
+     * @return the outcome of the suite
+     */
+    static Result run(final int classes, final List<Class<?>> testClasses, final Map<String, String> properties) {
+        final Map<String, String> previous = new HashMap<>();
+        previous.put(DockerProbe.AVAILABLE_PROPERTY, System.setProperty(DockerProbe.AVAILABLE_PROPERTY, "true"));
+        properties.forEach((key, value) -> previous.put(key, System.setProperty(key, value)));
+        try {
+            return runSuite(classes, testClasses);
+        } finally {
+            previous.forEach((key, value) -> {
+                if (value == null) {
+                    System.clearProperty(key);
+                } else {
+                    System.setProperty(key, value);
+                }
+            });
+        }
+    }
+
+    private static Result runSuite(final int classes, final List<Class<?>> testClasses) {
+        // The sum of the start durations of every container, which overlap when containers start in parallel
+        final AtomicLong startTotal = new AtomicLong();
+        final ContainerLifecycleListener listener = timing -> {
+            if (timing.getPhase() == ContainerTiming.Phase.START) {
+                startTotal.addAndGet(timing.getDuration().toNanos());
+            }
+        };
+        final Manager manager = ManagerBuilder.from()
+                .context(SuiteContextImpl.class)
+                .context(ClassContextImpl.class)
+                .context(TestContextImpl.class)
+                .extension(TestContextHandler.class)
+                .extension(TestContainersObserver.class)
+                .create();
+        manager.start();
+        manager.bind(ApplicationScoped.class, ServiceLoader.class, new ListenerServiceLoader(listener));
+        final ContainerInjectionTestEnricher enricher = new ContainerInjectionTestEnricher();
+        manager.inject(enricher);
+        int failedClasses = 0;
+        final long start = System.nanoTime();
+        try {
+            manager.fire(new BeforeSuite());
+            for (int i = 0; i < classes; i++) {
+                if (!runClass(manager, enricher, testClasses.get(i % testClasses.size()))) {
+                    failedClasses++;
+                }
+            }
+            manager.fire(new AfterSuite());
+        } finally {
+            manager.shutdown();
+        }
+        return new Result(classes, failedClasses, Duration.ofNanos(System.nanoTime() - start),
+                Duration.ofNanos(startTotal.get()), FakeDocker.current());
+    }
+
+    private static boolean runClass(final Manager manager, final ContainerInjectionTestEnricher enricher,
+            final Class<?> testClass) {
+        boolean passed = true;
+        try {
+            manager.fire(new BeforeClass(testClass));
+            final Object instance = testClass.getConstructor().newInstance();
+            final Method method = testClass.getMethod("test");
+            manager.fire(new Before(instance, method), event -> {
+                enricher.enrich(instance);
+                manager.fire(new AfterEnrichment(instance));
+            });
+            manager.fire(new After(instance, method));
+        } catch (Exception e) {
+            passed = false;
+        } finally {
+            try {
+                manager.fire(new AfterClass(testClass));
+            } catch (Exception e) {
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    private static class ListenerServiceLoader implements ServiceLoader {
+        private final ContainerLifecycleListener listener;
+
+        private ListenerServiceLoader(final ContainerLifecycleListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> Collection<T> all(final Class<T> serviceClass) {
+            return serviceClass == ContainerLifecycleListener.class ? List.of((T) listener) : List.of();
+        }
+
+        @Override
+        public <T> T onlyOne(final Class<T> serviceClass) {
+            return null;
+        }
+
+        @Override
+        public <T> T onlyOne(final Class<T> serviceClass, final Class<? extends T> defaultServiceClass) {
+            return null;
+        }
+    }
+}
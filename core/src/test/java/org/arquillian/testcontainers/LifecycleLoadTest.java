@@ -0,0 +1,121 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.arquillian.testcontainers.FakeDocker.FakeApp;
+import org.arquillian.testcontainers.FakeDocker.FakeBroker;
+import org.arquillian.testcontainers.FakeDocker.FakeDatabase;
+import org.arquillian.testcontainers.LifecycleLoadHarness.Result;
+import org.arquillian.testcontainers.api.ContainerScope;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.TestcontainersRequired;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs suites of simulated test classes through the {@link LifecycleLoadHarness} without requiring a container engine.
+ */
+public class LifecycleLoadTest {
+
+    @AfterEach
+    public void resetDocker() {
+        FakeDocker.reset();
+    }
+
+    @Test
+    public void thousandsOfClasses() {
+        final Result result = LifecycleLoadHarness.run(2000, List.of(ClassScopedTest.class), Map.of());
+        Assertions.assertEquals(0, result.failedClasses, result::toString);
+        Assertions.assertEquals(4000, result.starts, result::toString);
+        Assertions.assertEquals(4000, result.stops, result::toString);
+        Assertions.assertEquals(0, result.running, result::toString);
+    }
+
+    @Test
+    public void sharedContainers() {
+        final Result result = LifecycleLoadHarness.run(1000, List.of(SuiteScopedTest.class, PooledTest.class), Map.of());
+        Assertions.assertEquals(0, result.failedClasses, result::toString);
+        // One database shared by the suite and one pooled broker leased to each class in turn
+        Assertions.assertEquals(2, result.starts, result::toString);
+        Assertions.assertEquals(2, result.stops, result::toString);
+        Assertions.assertEquals(0, result.running, result::toString);
+    }
+
+    @Test
+    public void parallelStart() {
+        FakeDocker.current().startLatency = Duration.ofMillis(30L);
+        final Result sequential = LifecycleLoadHarness.run(5, List.of(IndependentTest.class), Map.of());
+        FakeDocker.reset().startLatency = Duration.ofMillis(30L);
+        final Result parallel = LifecycleLoadHarness.run(5, List.of(IndependentTest.class),
+                Map.of(ContainerStarter.PARALLEL_PROPERTY, "true"));
+        Assertions.assertEquals(15, parallel.starts, parallel::toString);
+        Assertions.assertEquals(3, parallel.maxRunning, parallel::toString);
+        Assertions.assertTrue(parallel.elapsed.multipliedBy(2L).compareTo(sequential.elapsed) < 0,
+                () -> String.format("Sequential: %s%nParallel: %s", sequential, parallel));
+    }
+
+    @Test
+    public void failureInjection() {
+        FakeDocker.current().failEvery = 3;
+        final Result result = LifecycleLoadHarness.run(30, List.of(ClassScopedTest.class),
+                Map.of(ContainerStopper.DETACHED_PROPERTY, "true"));
+        Assertions.assertEquals(15, result.failures, result::toString);
+        Assertions.assertEquals(15, result.failedClasses, result::toString);
+        // Every container which started has been stopped
+        Assertions.assertEquals(result.starts - result.failures, result.stops, result::toString);
+        Assertions.assertEquals(0, result.running, result::toString);
+    }
+
+    @TestcontainersRequired
+    public static class ClassScopedTest {
+        @Testcontainer
+        private FakeDatabase database;
+
+        @Testcontainer(dependsOn = "database")
+        private FakeApp app;
+
+        public void test() {
+        }
+    }
+
+    @TestcontainersRequired
+    public static class SuiteScopedTest {
+        @Testcontainer(scope = ContainerScope.SUITE)
+        private FakeDatabase database;
+
+        public void test() {
+        }
+    }
+
+    @TestcontainersRequired
+    public static class PooledTest {
+        @Testcontainer(scope = ContainerScope.POOLED)
+        private FakeBroker broker;
+
+        public void test() {
+        }
+    }
+
+    @TestcontainersRequired
+    public static class IndependentTest {
+        @Testcontainer
+        private FakeDatabase database;
+
+        @Testcontainer
+        private FakeBroker broker;
+
+        @Testcontainer
+        private FakeApp app;
+
+        public void test() {
+        }
+    }
+}
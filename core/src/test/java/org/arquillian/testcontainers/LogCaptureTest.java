@@ -0,0 +1,90 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.arquillian.testcontainers.api.LogCapture;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.OutputFrame;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Tests the {@link LogCapture} and {@link ContainerLogs} without requiring a container engine.
+ */
+public class LogCaptureTest {
+
+    @Testcontainer
+    private GenericContainer<?> database;
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ContainerLogs.DIR_PROPERTY);
+    }
+
+    @Test
+    public void keepsEndOfOutput() {
+        final LogCapture capture = new LogCapture(16);
+        capture.accept(frame("first\n"));
+        Assertions.assertEquals("first\n", capture.toString());
+        Assertions.assertEquals(0L, capture.overwritten());
+
+        capture.accept(frame("second\n"));
+        capture.accept(frame("third\n"));
+        // The partially overwritten first line is skipped
+        Assertions.assertEquals("second\nthird\n", capture.toString());
+        Assertions.assertEquals(3L, capture.overwritten());
+
+        capture.accept(frame("a line longer than the buffer\n"));
+        Assertions.assertEquals("", capture.toString());
+        capture.accept(frame("last\n"));
+        Assertions.assertEquals("last\n", capture.toString());
+
+        capture.clear();
+        Assertions.assertEquals("", capture.toString());
+    }
+
+    @Test
+    public void writtenOnFailure(@TempDir final Path dir) throws Exception {
+        System.setProperty(ContainerLogs.DIR_PROPERTY, dir.toString());
+        final LogCapture capture = new LogCapture();
+        final GenericContainer<?> container = new GenericContainer<>(DockerImageName.parse("arquillian/stub"))
+                .withLogConsumer(capture);
+        capture.accept(frame("failed to connect\n"));
+        final Field field = LogCaptureTest.class.getDeclaredField("database");
+        ContainerLogs.writeCaptured("FailedTest",
+                List.of(new TestcontainerDescription(field.getAnnotation(Testcontainer.class), container, field)));
+        Assertions.assertEquals("failed to connect\n",
+                Files.readString(dir.resolve("FailedTest-database.log"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void clearedForNextTestClass() throws Exception {
+        final LogCapture capture = new LogCapture();
+        final GenericContainer<?> container = new GenericContainer<>(DockerImageName.parse("arquillian/stub"))
+                .withLogConsumer(capture);
+        capture.accept(frame("output of the first test class\n"));
+        final Field field = LogCaptureTest.class.getDeclaredField("database");
+        ContainerLogs.clearCaptured(
+                List.of(new TestcontainerDescription(field.getAnnotation(Testcontainer.class), container, field)));
+        Assertions.assertEquals("", capture.toString());
+        capture.accept(frame("output of the second test class\n"));
+        Assertions.assertEquals("output of the second test class\n", capture.toString());
+    }
+
+    private static OutputFrame frame(final String line) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, line.getBytes(StandardCharsets.UTF_8));
+    }
+}
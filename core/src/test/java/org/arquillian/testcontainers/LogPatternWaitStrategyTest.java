@@ -0,0 +1,135 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.arquillian.testcontainers.TestcontainerRegistryTest.DatabaseContainer;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.arquillian.testcontainers.api.WaitForLog;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.ContainerLaunchException;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.output.OutputFrame;
+
+/**
+ * Tests the {@link LogPatternWaitStrategy} by feeding it output frames, without requiring a container engine.
+ */
+public class LogPatternWaitStrategyTest {
+
+    @Testcontainer
+    @WaitForLog({ "WFLYSRV0025", "started in" })
+    private DatabaseContainer database;
+
+    @Test
+    public void matchesAcrossFrames() throws Exception {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("WFLYSRV0025", "started in"));
+        final CompletableFuture<Void> waiting = CompletableFuture.runAsync(() -> strategy.waitUntilReady(null));
+        for (String frame : List.of("INFO booting\nINFO WFLY", "SRV0", "024: not yet\n", "INFO WFLYSRV", "0025: ready\n")) {
+            Assertions.assertFalse(waiting.isDone());
+            strategy.accept(frame(frame));
+        }
+        waiting.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void overlappingPrefix() {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("aab"));
+        strategy.accept(frame("aa"));
+        strategy.accept(frame("ab"));
+        strategy.waitUntilReady(null);
+    }
+
+    @Test
+    public void outputEndsBeforeMatch() throws Exception {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("started in"));
+        final CompletableFuture<Void> waiting = waitUntilReady(strategy);
+        strategy.accept(frame("Exception in thread \"main\"\n"));
+        strategy.accept(OutputFrame.END);
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> waiting.get(10, TimeUnit.SECONDS));
+        Assertions.assertInstanceOf(ContainerLaunchException.class, e.getCause());
+    }
+
+    @Test
+    public void waitsAgainAfterFailedStart() throws Exception {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("started in"));
+        final CompletableFuture<Void> first = waitUntilReady(strategy);
+        strategy.accept(frame("Exception in thread \"main\"\n"));
+        strategy.accept(OutputFrame.END);
+        Assertions.assertThrows(ExecutionException.class, () -> first.get(10, TimeUnit.SECONDS));
+
+        // The retried start must not see the failure of the first start
+        final CompletableFuture<Void> second = waitUntilReady(strategy);
+        strategy.accept(frame("started in 1s\n"));
+        second.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void timesOut() {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("started in"));
+        strategy.withStartupTimeout(Duration.ofMillis(50L));
+        strategy.accept(frame("starting\n"));
+        final ContainerLaunchException e = Assertions.assertThrows(ContainerLaunchException.class,
+                () -> strategy.waitUntilReady(null));
+        Assertions.assertTrue(e.getMessage().contains("Timed out"), e.getMessage());
+    }
+
+    @Test
+    public void waitsAgainAfterRestart() throws Exception {
+        final LogPatternWaitStrategy strategy = new LogPatternWaitStrategy(List.of("started in"));
+        strategy.accept(frame("started in 1s\n"));
+        strategy.waitUntilReady(null);
+        strategy.accept(OutputFrame.END);
+
+        strategy.withStartupTimeout(Duration.ofMillis(50L));
+        Assertions.assertThrows(ContainerLaunchException.class, () -> strategy.waitUntilReady(null));
+        strategy.accept(frame("started in 2s\n"));
+        strategy.waitUntilReady(null);
+    }
+
+    @Test
+    public void addedForAnnotatedField() throws Exception {
+        final Field field = LogPatternWaitStrategyTest.class.getDeclaredField("database");
+        @SuppressWarnings("unchecked")
+        final GenericContainer<?> container = new TestcontainerRegistry().lookupOrCreate(
+                (Class<GenericContainer<?>>) field.getType(), field.getAnnotation(Testcontainer.class), List.of(), field);
+        Assertions.assertTrue(container.getLogConsumers().stream().anyMatch(LogPatternWaitStrategy.class::isInstance));
+    }
+
+    /**
+     * Waits for the container on a new thread, returning once the thread is waiting for the current start.
+     */
+    private static CompletableFuture<Void> waitUntilReady(final LogPatternWaitStrategy strategy) throws Exception {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                strategy.waitUntilReady(null);
+                result.complete(null);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10L);
+        while (thread.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10L);
+        }
+        return result;
+    }
+
+    private static OutputFrame frame(final String text) {
+        return new OutputFrame(OutputFrame.OutputType.STDOUT, text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -47,7 +47,7 @@ public class SameInstanceTest {
     @BeforeAll
     @AfterAll
     public static void checkAvailable() {
-        // check(globalContainer);
+        check(globalContainer);
     }
 
     @BeforeEach
@@ -0,0 +1,157 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
+
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.images.RemoteDockerImage;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Tests the {@link SuiteReport} without requiring a container engine.
+ */
+public class SuiteReportTest {
+
+    @Testcontainer
+    private GenericContainer<?> database;
+
+    @Testcontainer(dependsOn = "database")
+    private GenericContainer<?> broker;
+
+    @Testcontainer
+    private GenericContainer<?> app;
+
+    @AfterEach
+    public void clearProperty() {
+        System.clearProperty(ContainerStarter.PARALLEL_PROPERTY);
+    }
+
+    @Test
+    public void criticalPath() throws Exception {
+        final TestcontainerDescription databaseDescription = description("database", new SleepContainer("db", 60));
+        final TestcontainerDescription brokerDescription = description("broker", new SleepContainer("broker", 30));
+        brokerDescription.dependencies.add(databaseDescription);
+        final TestcontainerDescription appDescription = description("app", new SleepContainer("app", 40));
+        final List<List<TestcontainerDescription>> waves = List.of(List.of(databaseDescription, appDescription),
+                List.of(brokerDescription));
+
+        final SuiteReport report = new SuiteReport();
+        report.classStarted("FirstTest", System.nanoTime());
+        final long start = System.nanoTime();
+        new ContainerStarter().start(waves);
+        report.startBlocked("FirstTest", Duration.ofNanos(System.nanoTime() - start));
+        report.classCompleted("FirstTest", System.nanoTime(), Duration.ZERO, waves);
+
+        final String result = report.render();
+        Assertions.assertTrue(result.contains("3 containers started"), result);
+        Assertions.assertTrue(result.contains("critical path database -> broker"), result);
+        Assertions.assertTrue(result.contains("starting containers in parallel would save"), result);
+        Assertions.assertFalse(result.contains("sharing containers"), result);
+    }
+
+    @Test
+    public void sharingSaving() throws Exception {
+        final SuiteReport report = new SuiteReport();
+        for (String testClass : List.of("FirstTest", "SecondTest")) {
+            final List<List<TestcontainerDescription>> waves = List
+                    .of(List.of(description("database", new SleepContainer("db", 10))));
+            report.classStarted(testClass, System.nanoTime());
+            new ContainerStarter().start(waves);
+            report.classCompleted(testClass, System.nanoTime(), Duration.ZERO, waves);
+        }
+        final String result = report.render();
+        final int second = result.indexOf("SecondTest");
+        Assertions.assertTrue(second > 0, result);
+        Assertions.assertFalse(result.substring(0, second).contains("sharing containers"), result);
+        Assertions.assertTrue(result.substring(second).contains("sharing containers with earlier test classes"), result);
+        // Containers started at once are already on the critical path
+        Assertions.assertFalse(result.contains("in parallel would save"), result);
+    }
+
+    @Test
+    public void failedStartNotCounted() throws Exception {
+        final List<List<TestcontainerDescription>> waves = List
+                .of(List.of(description("database", new SleepContainer("db", 10)), description("app", new FailingContainer())));
+        final SuiteReport report = new SuiteReport();
+        report.classStarted("FirstTest", System.nanoTime());
+        Assertions.assertThrows(RuntimeException.class, () -> new ContainerStarter().start(waves));
+        report.classCompleted("FirstTest", System.nanoTime(), Duration.ZERO, waves);
+
+        final String result = report.render();
+        Assertions.assertTrue(result.contains("1 containers started"), result);
+        Assertions.assertTrue(result.contains("critical path database "), result);
+    }
+
+    @Test
+    @SuppressWarnings("resource")
+    public void imageNotResolved() throws Exception {
+        final SuiteReport report = new SuiteReport();
+        for (String testClass : List.of("FirstTest", "SecondTest")) {
+            // Resolving the image would require a container engine
+            final GenericContainer<?> container = new SleepContainer(DockerImageName.parse("arquillian/stub:1"), 10);
+            final List<List<TestcontainerDescription>> waves = List.of(List.of(description("database", container)));
+            report.classStarted(testClass, System.nanoTime());
+            new ContainerStarter().start(waves);
+            report.classCompleted(testClass, System.nanoTime(), Duration.ZERO, waves);
+            Assertions.assertNull(ContainerFingerprint.resolvedImageName(container));
+        }
+        final String result = report.render();
+        Assertions.assertTrue(result.contains("2 test classes"), result);
+        Assertions.assertFalse(result.contains("sharing containers"), result);
+    }
+
+    private static TestcontainerDescription description(final String fieldName, final GenericContainer<?> container)
+            throws NoSuchFieldException {
+        final Field field = SuiteReportTest.class.getDeclaredField(fieldName);
+        return new TestcontainerDescription(field.getAnnotation(Testcontainer.class), container, field);
+    }
+
+    private static class SleepContainer extends GenericContainer<SleepContainer> {
+        private final long millis;
+
+        SleepContainer(final String image, final long millis) {
+            this(FakeDocker.image("arquillian/" + image), millis);
+        }
+
+        SleepContainer(final RemoteDockerImage image, final long millis) {
+            super(image);
+            this.millis = millis;
+        }
+
+        SleepContainer(final DockerImageName image, final long millis) {
+            super(image);
+            this.millis = millis;
+        }
+
+        @Override
+        public void start() {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static class FailingContainer extends GenericContainer<FailingContainer> {
+        FailingContainer() {
+            super(FakeDocker.image("arquillian/failing"));
+        }
+
+        @Override
+        public void start() {
+            throw new IllegalStateException("Failed to start");
+        }
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright The Arquillian Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package org.arquillian.testcontainers;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.arquillian.testcontainers.api.ContainerQualifier;
+import org.arquillian.testcontainers.api.ContainerReset;
+import org.arquillian.testcontainers.api.ContainerScope;
+import org.arquillian.testcontainers.api.Testcontainer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+
+/**
+ * Tests the {@link TestcontainerRegistry} without requiring a container engine.
+ */
+public class TestcontainerRegistryTest {
+
+    @Testcontainer
+    private DatabaseContainer database;
+
+    @Testcontainer(dependsOn = "database")
+    private BrokerContainer broker;
+
+    @Testcontainer(dependsOn = { "database", "broker" })
+    private AppContainer app;
+
+    @Testcontainer(scope = ContainerScope.SUITE)
+    private DatabaseContainer sharedDatabase;
+
+    @Testcontainer(scope = ContainerScope.POOLED, reset = HealthyReset.class)
+    private DatabaseContainer pooledDatabase;
+
+    @Testcontainer(scope = ContainerScope.POOLED, reset = FailingReset.class)
+    private BrokerContainer pooledBroker;
+
+    @Testcontainer(scope = ContainerScope.POOLED, reset = HealthyReset.class)
+    private BrokerContainer mistypedReset;
+
+    @Primary
+    @Testcontainer
+    private DatabaseContainer primaryDatabase;
+
+    @Secondary
+    @Testcontainer
+    private DatabaseContainer secondaryDatabase;
+
+    @Testcontainer
+    private SlowContainer slow;
+
+    @Testcontainer
+    private FailingContainer failing;
+
+    @Test
+    public void startOrder() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final GenericContainer<?> app = create(registry, "app");
+        final GenericContainer<?> broker = create(registry, "broker");
+        final GenericContainer<?> database = create(registry, "database");
+        registry.addDependency(app, database);
+        registry.addDependency(app, broker);
+        registry.addDependency(broker, database);
+
+        final List<List<TestcontainerDescription>> waves = registry.startOrder();
+        Assertions.assertEquals(3, waves.size(), () -> "Expected three waves: " + waves);
+        Assertions.assertSame(database, waves.get(0).get(0).instance);
+        Assertions.assertSame(broker, waves.get(1).get(0).instance);
+        Assertions.assertSame(app, waves.get(2).get(0).instance);
+    }
+
+    @Test
+    public void startOrderOfDependencies() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final GenericContainer<?> app = create(registry, "app");
+        final GenericContainer<?> broker = create(registry, "broker");
+        final GenericContainer<?> database = create(registry, "database");
+        create(registry, "primaryDatabase");
+        registry.addDependency(app, broker);
+        registry.addDependency(broker, database);
+
+        // Only the broker and the database it depends on, not the app depending on it or unrelated containers
+        final List<List<TestcontainerDescription>> waves = registry.startOrder(List.of(broker));
+        Assertions.assertEquals(2, waves.size(), () -> "Expected two waves: " + waves);
+        Assertions.assertEquals(1, waves.get(0).size());
+        Assertions.assertSame(database, waves.get(0).get(0).instance);
+        Assertions.assertEquals(1, waves.get(1).size());
+        Assertions.assertSame(broker, waves.get(1).get(0).instance);
+    }
+
+    @Test
+    public void independentContainersStartTogether() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        create(registry, "database");
+        create(registry, "broker");
+        final List<List<TestcontainerDescription>> waves = registry.startOrder();
+        Assertions.assertEquals(1, waves.size(), () -> "Expected a single wave: " + waves);
+        Assertions.assertEquals(2, waves.get(0).size());
+    }
+
+    @Test
+    public void cyclicDependency() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final GenericContainer<?> app = create(registry, "app");
+        final GenericContainer<?> broker = create(registry, "broker");
+        final GenericContainer<?> database = create(registry, "database");
+        registry.addDependency(app, broker);
+        registry.addDependency(broker, database);
+        registry.addDependency(database, broker);
+
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class, registry::startOrder);
+        Assertions.assertTrue(e.getMessage().contains("broker -> database -> broker")
+                || e.getMessage().contains("database -> broker -> database"), e.getMessage());
+    }
+
+    @Test
+    public void suiteScopedShared() throws Exception {
+        final ContainerPool pool = new ContainerPool();
+        final TestcontainerRegistry first = new TestcontainerRegistry(pool);
+        final TestcontainerRegistry second = new TestcontainerRegistry(pool);
+        Assertions.assertSame(create(first, "sharedDatabase"), create(second, "sharedDatabase"));
+        Assertions.assertEquals(1, pool.drain().size());
+        // Class scoped containers should never be taken from the pool
+        Assertions.assertNotSame(create(new TestcontainerRegistry(pool), "database"),
+                create(new TestcontainerRegistry(pool), "database"));
+        Assertions.assertTrue(pool.drain().isEmpty());
+    }
+
+    @Test
+    public void pooledReset() throws Exception {
+        final ContainerPool pool = new ContainerPool();
+        final TestcontainerRegistry first = new TestcontainerRegistry(pool);
+        final GenericContainer<?> container = create(first, "pooledDatabase");
+        // The container is leased, so another test class must not get the same container
+        final TestcontainerRegistry second = new TestcontainerRegistry(pool);
+        Assertions.assertNotSame(container, create(second, "pooledDatabase"));
+
+        first.forEach(pool::release);
+        Assertions.assertSame(container, create(new TestcontainerRegistry(pool), "pooledDatabase"));
+    }
+
+    @Test
+    public void pooledResetFailure() throws Exception {
+        final ContainerPool pool = new ContainerPool();
+        final TestcontainerRegistry first = new TestcontainerRegistry(pool);
+        final GenericContainer<?> container = create(first, "pooledBroker");
+        first.forEach(pool::release);
+        // The reset failed, so the container must not be handed out again
+        Assertions.assertNotSame(container, create(new TestcontainerRegistry(pool), "pooledBroker"));
+        Assertions.assertTrue(pool.drain().isEmpty());
+    }
+
+    @Test
+    public void pooledResetMistyped() {
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> create(new TestcontainerRegistry(new ContainerPool()), "mistypedReset"));
+        Assertions.assertTrue(e.getMessage().contains(HealthyReset.class.getName())
+                && e.getMessage().contains("resets a " + DatabaseContainer.class.getName())
+                && e.getMessage().contains("container is a " + BrokerContainer.class.getName()), e.getMessage());
+    }
+
+    @Test
+    public void qualifiedLookup() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final GenericContainer<?> primary = create(registry, "primaryDatabase");
+        final GenericContainer<?> secondary = create(registry, "secondaryDatabase");
+        Assertions.assertNotSame(primary, secondary);
+        Assertions.assertSame(primary, create(registry, "primaryDatabase"));
+        Assertions.assertSame(secondary, create(registry, "secondaryDatabase"));
+    }
+
+    @Test
+    public void multipleContainersFound() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        // Prime the type index before the containers are added, it must be updated as containers are registered
+        Assertions.assertNull(registry.lookup(GenericContainer.class, List.of()));
+        create(registry, "database");
+        Assertions.assertNotNull(registry.lookup(GenericContainer.class, List.of()));
+        create(registry, "broker");
+        final IllegalArgumentException e = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> registry.lookup(GenericContainer.class, List.of()));
+        Assertions.assertTrue(e.getMessage().startsWith("Multiple containers found"), e.getMessage());
+    }
+
+    @Test
+    public void concurrentCreation() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        SlowContainer.CREATED.set(0);
+        final List<GenericContainer<?>> results = createConcurrently(registry, "slow");
+        Assertions.assertEquals(1, SlowContainer.CREATED.get());
+        for (GenericContainer<?> result : results) {
+            Assertions.assertSame(results.get(0), result);
+        }
+        Assertions.assertEquals(1, registry.startOrder().get(0).size());
+        Assertions.assertSame(results.get(0), registry.lookup(SlowContainer.class, List.of()));
+    }
+
+    @Test
+    public void concurrentCreationFailure() throws Exception {
+        final TestcontainerRegistry registry = new TestcontainerRegistry();
+        final ExecutionException e = Assertions.assertThrows(ExecutionException.class,
+                () -> createConcurrently(registry, "failing"));
+        Assertions.assertTrue(e.getCause() instanceof IllegalArgumentException, () -> String.valueOf(e.getCause()));
+        Assertions.assertFalse(registry.iterator().hasNext());
+        // A failed creation must not prevent a later attempt
+        final int attempts = FailingContainer.ATTEMPTS.get();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> create(registry, "failing"));
+        Assertions.assertEquals(attempts + 1, FailingContainer.ATTEMPTS.get());
+    }
+
+    private static List<GenericContainer<?>> createConcurrently(final TestcontainerRegistry registry,
+            final String fieldName) throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch ready = new CountDownLatch(threads);
+            final List<Future<GenericContainer<?>>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return create(registry, fieldName);
+                }));
+            }
+            final List<GenericContainer<?>> results = new ArrayList<>();
+            for (Future<GenericContainer<?>> future : futures) {
+                results.add(future.get(10L, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            // Let every thread complete so none is still creating a container once this returns
+            executor.shutdown();
+            Assertions.assertTrue(executor.awaitTermination(10L, TimeUnit.SECONDS));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static GenericContainer<?> create(final TestcontainerRegistry registry, final String fieldName)
+            throws NoSuchFieldException {
+        final Field field = TestcontainerRegistryTest.class.getDeclaredField(fieldName);
+        return registry.lookupOrCreate((Class<GenericContainer<?>>) field.getType(), field.getAnnotation(Testcontainer.class),
+                Stream.of(field.getAnnotations())
+                        .filter(InjectionPlan::isQualifier)
+                        .collect(Collectors.toList()),
+                field);
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    public @interface Primary {
+    }
+
+    @ContainerQualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    public @interface Secondary {
+    }
+
+    public static class HealthyReset implements ContainerReset<DatabaseContainer> {
+        @Override
+        public void reset(final DatabaseContainer container) {
+        }
+
+        @Override
+        public boolean isHealthy(final DatabaseContainer container) {
+            return true;
+        }
+    }
+
+    public static class FailingReset implements ContainerReset<BrokerContainer> {
+        @Override
+        public void reset(final BrokerContainer container) {
+            throw new IllegalStateException("Failed to reset " + container);
+        }
+    }
+
+    public static class DatabaseContainer extends GenericContainer<DatabaseContainer> {
+        public DatabaseContainer() {
+            super(FakeDocker.image("arquillian/database"));
+        }
+    }
+
+    public static class BrokerContainer extends GenericContainer<BrokerContainer> {
+        public BrokerContainer() {
+            super(FakeDocker.image("arquillian/broker"));
+        }
+    }
+
+    public static class AppContainer extends GenericContainer<AppContainer> {
+        public AppContainer() {
+            super(FakeDocker.image("arquillian/app"));
+        }
+    }
+
+    public static class SlowContainer extends GenericContainer<SlowContainer> {
+        static final AtomicInteger CREATED = new AtomicInteger();
+
+        public SlowContainer() throws InterruptedException {
+            super(FakeDocker.image("arquillian/slow"));
+            CREATED.incrementAndGet();
+            // Give the other threads time to look up the container while it is being created
+            TimeUnit.MILLISECONDS.sleep(50L);
+        }
+    }
+
+    public static class FailingContainer extends GenericContainer<FailingContainer> {
+        static final AtomicInteger ATTEMPTS = new AtomicInteger();
+
+        public FailingContainer() throws InterruptedException {
+            super(FakeDocker.image("arquillian/failing"));
+            ATTEMPTS.incrementAndGet();
+            TimeUnit.MILLISECONDS.sleep(50L);
+            throw new IllegalStateException("Failed to create container");
+        }
+    }
+}